@@ -0,0 +1,44 @@
+package de.wieland.Chess.benchmark;
+
+import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.board.FenUtils;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Public final class BenchmarkPositions.
+ *
+ * The positions all benchmarks run on, selected by name through a JMH
+ * parameter so the results of different changes can be compared.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class BenchmarkPositions {
+	public static final String START = "start";
+	public static final String MIDDLE_GAME = "middlegame";
+	public static final String KIWIPETE = "kiwipete";
+	public static final String END_GAME = "endgame";
+
+	private static final Map<String, String> POSITIONS = ImmutableMap.of(
+			START, FenUtils.STANDARD_START_POSITION,
+			MIDDLE_GAME, "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+			KIWIPETE, "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			END_GAME, "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1");
+
+	private BenchmarkPositions() {
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+	public static Board createBoard(final String name) {
+		final String fen = POSITIONS.get(name);
+
+		if(fen == null) {
+			throw new IllegalArgumentException("Unknown benchmark position: " + name);
+		}
+
+		return FenUtils.createBoardFromFen(fen);
+	}
+}
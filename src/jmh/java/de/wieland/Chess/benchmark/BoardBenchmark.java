@@ -0,0 +1,72 @@
+package de.wieland.Chess.benchmark;
+
+import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.board.Move;
+import de.wieland.Chess.engine.pieces.Piece;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Public class BoardBenchmark.
+ *
+ * Measures the construction of boards and the making of moves, which
+ * builds a new board for every move.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+	@Param({BenchmarkPositions.START, BenchmarkPositions.MIDDLE_GAME, BenchmarkPositions.KIWIPETE, BenchmarkPositions.END_GAME})
+	private String position;
+
+	private Board board;
+	private Board.Builder builder;
+
+	@Setup
+	public void setup() {
+		board = BenchmarkPositions.createBoard(position);
+		builder = new Board.Builder();
+
+		for (final Piece piece : board.getAllPieces()) {
+			builder.setPiece(piece);
+		}
+
+		builder.setMoveMaker(board.getCurrentPlayer().getAlliance());
+		builder.setEnPassantPawn(board.getEnPassantPawn());
+	}
+
+	@Benchmark
+	public Board createStandardBoard() {
+		return Board.createStandardBoard();
+	}
+
+	@Benchmark
+	public Board build() {
+		return builder.build();
+	}
+
+	@Benchmark
+	public void makeMove(final Blackhole blackhole) {
+		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+			blackhole.consume(board.getCurrentPlayer().makeMove(move));
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package de.wieland.Chess.benchmark;
+
+import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.board.SearchBoard;
+import de.wieland.Chess.engine.player.ai.StandardBoardEvaluator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Public class EvaluationBenchmark.
+ *
+ * Measures the StandardBoardEvaluator on the Board and on the SearchBoard
+ * the search evaluates its leaves on.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+	@Param({BenchmarkPositions.START, BenchmarkPositions.MIDDLE_GAME, BenchmarkPositions.KIWIPETE, BenchmarkPositions.END_GAME})
+	private String position;
+
+	private Board board;
+	private SearchBoard searchBoard;
+
+	@Setup
+	public void setup() {
+		board = BenchmarkPositions.createBoard(position);
+		searchBoard = new SearchBoard(board);
+	}
+
+	@Benchmark
+	public int evaluateBoard() {
+		return StandardBoardEvaluator.get().evaluate(board, 0);
+	}
+
+	@Benchmark
+	public int evaluateSearchBoard() {
+		return StandardBoardEvaluator.get().evaluate(searchBoard, 0);
+	}
+}
@@ -0,0 +1,65 @@
+package de.wieland.Chess.benchmark;
+
+import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.pieces.Piece;
+import de.wieland.Chess.engine.pieces.PieceType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Public class MoveGenerationBenchmark.
+ *
+ * Measures the move generation of the pieces of one type on the Board.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+	@Param({BenchmarkPositions.START, BenchmarkPositions.MIDDLE_GAME, BenchmarkPositions.KIWIPETE, BenchmarkPositions.END_GAME})
+	private String position;
+
+	@Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+	private PieceType pieceType;
+
+	private Board board;
+	private List<Piece> pieces;
+
+	@Setup
+	public void setup() {
+		board = BenchmarkPositions.createBoard(position);
+		pieces = new ArrayList<>();
+
+		for (final Piece piece : board.getAllPieces()) {
+			if(piece.getPieceType() == pieceType) {
+				pieces.add(piece);
+			}
+		}
+	}
+
+	@Benchmark
+	public void calculateLegalMoves(final Blackhole blackhole) {
+		for (final Piece piece : pieces) {
+			blackhole.consume(piece.calculateLegalMoves(board));
+		}
+	}
+}
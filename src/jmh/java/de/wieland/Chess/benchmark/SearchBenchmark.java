@@ -0,0 +1,78 @@
+package de.wieland.Chess.benchmark;
+
+import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.board.Move;
+import de.wieland.Chess.engine.board.Perft;
+import de.wieland.Chess.engine.board.SearchBoard;
+import de.wieland.Chess.engine.player.ai.AlphaBeta;
+import de.wieland.Chess.engine.player.ai.MiniMax;
+import de.wieland.Chess.engine.player.ai.TranspositionTable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Public class SearchBenchmark.
+ *
+ * Measures fixed depth searches and a perft of the SearchBoard, which
+ * covers generating, making and unmaking moves. The transposition table
+ * is cleared before every AlphaBeta search, so each one starts cold.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+	@Param({BenchmarkPositions.START, BenchmarkPositions.MIDDLE_GAME, BenchmarkPositions.KIWIPETE, BenchmarkPositions.END_GAME})
+	private String position;
+
+	@Param({"3"})
+	private int depth;
+
+	private Board board;
+	private SearchBoard searchBoard;
+	private TranspositionTable transpositionTable;
+
+	@Setup
+	public void setup() {
+		board = BenchmarkPositions.createBoard(position);
+		searchBoard = new SearchBoard(board);
+		transpositionTable = new TranspositionTable(AlphaBeta.DEFAULT_TABLE_SIZE_MB);
+	}
+
+	@Setup(Level.Invocation)
+	public void clearTranspositionTable() {
+		transpositionTable.clear();
+	}
+
+	@Benchmark
+	public Move miniMax() {
+		return new MiniMax(depth).execute(board);
+	}
+
+	@Benchmark
+	public Move alphaBeta() {
+		return new AlphaBeta(depth, transpositionTable).execute(board);
+	}
+
+	@Benchmark
+	public long perft() {
+		return Perft.perft(searchBoard, depth);
+	}
+}
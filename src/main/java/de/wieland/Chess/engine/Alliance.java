@@ -45,6 +45,11 @@ public enum Alliance {
 			return whitePlayer;
 		}
 		
+		@Override
+		public Alliance getOpponent() {
+			return BLACK;
+		}
+		
 		@Override
 		public String toString() {
 			return "White";
@@ -79,6 +84,16 @@ public enum Alliance {
         public int kingBonus(final int position) {
             return WHITE_KING_PREFERRED_COORDINATES[position];
         }
+
+        @Override
+        public int pawnEndGameBonus(final int position) {
+            return WHITE_PAWN_END_GAME_PREFERRED_COORDINATES[position];
+        }
+
+        @Override
+        public int kingEndGameBonus(final int position) {
+            return WHITE_KING_END_GAME_PREFERRED_COORDINATES[position];
+        }
 	},
 	
 	BLACK {
@@ -113,6 +128,11 @@ public enum Alliance {
 			return blackPlayer;
 		}
 		
+		@Override
+		public Alliance getOpponent() {
+			return WHITE;
+		}
+		
 		@Override
 		public String toString() {
 			return "Black";
@@ -147,6 +167,16 @@ public enum Alliance {
         public int kingBonus(final int position) {
             return BLACK_KING_PREFERRED_COORDINATES[position];
         }
+
+        @Override
+        public int pawnEndGameBonus(final int position) {
+            return BLACK_PAWN_END_GAME_PREFERRED_COORDINATES[position];
+        }
+
+        @Override
+        public int kingEndGameBonus(final int position) {
+            return BLACK_KING_END_GAME_PREFERRED_COORDINATES[position];
+        }
 	};
 	
 	public abstract int getDirection();
@@ -155,12 +185,15 @@ public enum Alliance {
 	public abstract boolean isWhite();
 	public abstract boolean isPawnPromotionSquare(int position);
 	public abstract Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer);
+	public abstract Alliance getOpponent();
 	public abstract int pawnBonus(int position);
     public abstract int knightBonus(int position);
     public abstract int bishopBonus(int position);
     public abstract int rookBonus(int position);
     public abstract int queenBonus(int position);
     public abstract int kingBonus(int position);
+    public abstract int pawnEndGameBonus(int position);
+    public abstract int kingEndGameBonus(int position);
     
     private static final int[] WHITE_PAWN_PREFERRED_COORDINATES = {
             0,  0,  0,  0,  0,  0,  0,  0,
@@ -293,4 +326,49 @@ public enum Alliance {
             -30,-40,-40,-50,-50,-40,-40,-30,
             -30,-40,-40,-50,-50,-40,-40,-30
     };
+
+    //in the endgame pawns are worth more the closer they are to promotion and the king belongs in the center
+    private static final int[] WHITE_PAWN_END_GAME_PREFERRED_COORDINATES = {
+             0,  0,  0,  0,  0,  0,  0,  0,
+            90, 90, 90, 90, 90, 90, 90, 90,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            15, 15, 15, 15, 15, 15, 15, 15,
+             5,  5,  5,  5,  5,  5,  5,  5,
+             0,  0,  0,  0,  0,  0,  0,  0,
+             0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    private static final int[] BLACK_PAWN_END_GAME_PREFERRED_COORDINATES = {
+             0,  0,  0,  0,  0,  0,  0,  0,
+             0,  0,  0,  0,  0,  0,  0,  0,
+             5,  5,  5,  5,  5,  5,  5,  5,
+            15, 15, 15, 15, 15, 15, 15, 15,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            90, 90, 90, 90, 90, 90, 90, 90,
+             0,  0,  0,  0,  0,  0,  0,  0
+    };
+
+    private static final int[] WHITE_KING_END_GAME_PREFERRED_COORDINATES = {
+            -50,-40,-30,-20,-20,-30,-40,-50,
+            -30,-20,-10,  0,  0,-10,-20,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-30,  0,  0,  0,  0,-30,-30,
+            -50,-30,-30,-30,-30,-30,-30,-50
+    };
+
+    private static final int[] BLACK_KING_END_GAME_PREFERRED_COORDINATES = {
+            -50,-30,-30,-30,-30,-30,-30,-50,
+            -30,-30,  0,  0,  0,  0,-30,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 30, 40, 40, 30,-10,-30,
+            -30,-10, 20, 30, 30, 20,-10,-30,
+            -30,-20,-10,  0,  0,-10,-20,-30,
+            -50,-40,-30,-20,-20,-30,-40,-50
+    };
 }
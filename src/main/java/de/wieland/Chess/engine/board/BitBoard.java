@@ -0,0 +1,357 @@
+package de.wieland.Chess.engine.board;
+
+import java.util.Arrays;
+
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.pieces.PieceType;
+
+/**
+ * Public final class BitBoard.
+ *
+ * Keeps one 64-bit board per piece type and alliance plus the occupancy
+ * masks derived from them. Bit i corresponds to tile coordinate i, so
+ * a8 is bit 0 and h1 is bit 63, matching the numbering used by Board.
+ * The tiles attacked by knights, kings and pawns are looked up per
+ * coordinate in tables built once when the class is loaded, as are the
+ * tiles between and the lines through two coordinates, from which checks
+ * and pins are resolved.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class BitBoard {
+	public static final int NUM_PIECE_TYPES = PieceType.values().length;
+	public static final int NUM_PIECE_INDICES = 2 * NUM_PIECE_TYPES;
+	public static final int NO_PIECE = -1;
+	public static final long FIRST_COLUMN = 0x0101010101010101L;
+	public static final long SECOND_COLUMN = FIRST_COLUMN << 1;
+	public static final long SEVENTH_COLUMN = FIRST_COLUMN << 6;
+	public static final long EIGHTH_COLUMN = FIRST_COLUMN << 7;
+	public static final long EIGHTH_RANK = 0xFFL;
+	public static final long SIXTH_RANK = EIGHTH_RANK << 16;
+	public static final long THIRD_RANK = EIGHTH_RANK << 40;
+	public static final long FIRST_RANK = EIGHTH_RANK << 56;
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+	private static final long[] KNIGHT_ATTACKS = new long[BoardUtils.NUM_TILES];
+	private static final long[] KING_ATTACKS = new long[BoardUtils.NUM_TILES];
+	private static final long[][] PAWN_ATTACKS = new long[2][BoardUtils.NUM_TILES];
+	private static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+	private static final long[][] LINE = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+	private static final int[][] DIRECTIONS = { {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1} };
+
+	static {
+		for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+			final long tile = 1L << coordinate;
+			KNIGHT_ATTACKS[coordinate] = knightAttacks(tile);
+			KING_ATTACKS[coordinate] = kingAttacks(tile);
+
+			for (final Alliance alliance : Alliance.values()) {
+				PAWN_ATTACKS[alliance.ordinal()][coordinate] = pawnAttacks(alliance, tile);
+			}
+
+			for (final int[] direction : DIRECTIONS) {
+				initLines(coordinate, direction[0], direction[1]);
+			}
+		}
+	}
+
+	private static void initLines(final int coordinate,
+								  final int rowStep,
+								  final int columnStep) {
+		final long line = (1L << coordinate) | ray(coordinate, rowStep, columnStep) | ray(coordinate, -rowStep, -columnStep);
+		long between = 0L;
+		int row = coordinate / BoardUtils.NUM_TILES_PER_ROW + rowStep;
+		int column = coordinate % BoardUtils.NUM_TILES_PER_ROW + columnStep;
+
+		while (isOnBoard(row, column)) {
+			final int other = row * BoardUtils.NUM_TILES_PER_ROW + column;
+			BETWEEN[coordinate][other] = between;
+			LINE[coordinate][other] = line;
+			between |= 1L << other;
+			row += rowStep;
+			column += columnStep;
+		}
+	}
+
+	private static long ray(final int coordinate,
+							final int rowStep,
+							final int columnStep) {
+		long ray = 0L;
+		int row = coordinate / BoardUtils.NUM_TILES_PER_ROW + rowStep;
+		int column = coordinate % BoardUtils.NUM_TILES_PER_ROW + columnStep;
+
+		while (isOnBoard(row, column)) {
+			ray |= 1L << (row * BoardUtils.NUM_TILES_PER_ROW + column);
+			row += rowStep;
+			column += columnStep;
+		}
+
+		return ray;
+	}
+
+	private static boolean isOnBoard(final int row,
+									 final int column) {
+		return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+	}
+
+	private final long[] pieceBitBoards;
+	private final long[] allianceBitBoards;
+	private final int[] pieceIndices;
+	private long occupied;
+
+	BitBoard() {
+		pieceBitBoards = new long[NUM_PIECE_INDICES];
+		allianceBitBoards = new long[2];
+		pieceIndices = new int[BoardUtils.NUM_TILES];
+		Arrays.fill(pieceIndices, NO_PIECE);
+	}
+
+	private BitBoard(final BitBoard other) {
+		pieceBitBoards = other.pieceBitBoards.clone();
+		allianceBitBoards = other.allianceBitBoards.clone();
+		pieceIndices = other.pieceIndices.clone();
+		occupied = other.occupied;
+	}
+
+	BitBoard copy() {
+		return new BitBoard(this);
+	}
+
+	void setPiece(final int pieceIndex,
+				  final int coordinate) {
+		final long bit = 1L << coordinate;
+		pieceBitBoards[pieceIndex] |= bit;
+		allianceBitBoards[pieceIndex / NUM_PIECE_TYPES] |= bit;
+		occupied |= bit;
+		pieceIndices[coordinate] = pieceIndex;
+	}
+
+	void removePiece(final int pieceIndex,
+					 final int coordinate) {
+		final long bit = ~(1L << coordinate);
+		pieceBitBoards[pieceIndex] &= bit;
+		allianceBitBoards[pieceIndex / NUM_PIECE_TYPES] &= bit;
+		occupied &= bit;
+		pieceIndices[coordinate] = NO_PIECE;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			final int pieceIndex = pieceIndices[i];
+			final String tileText;
+
+			if(pieceIndex == NO_PIECE) {
+				tileText = "-";
+			} else {
+				final String pieceName = pieceTypeOf(pieceIndex).toString();
+				tileText = allianceOf(pieceIndex).isBlack() ? pieceName.toLowerCase() : pieceName;
+			}
+
+			builder.append(String.format("%3s", tileText));
+
+			if((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+				builder.append("\n");
+			}
+		}
+
+		return builder.toString();
+	}
+
+	public static int pieceIndex(final Alliance alliance,
+								 final PieceType pieceType) {
+		return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+	}
+
+	public static Alliance allianceOf(final int pieceIndex) {
+		return pieceIndex < NUM_PIECE_TYPES ? Alliance.WHITE : Alliance.BLACK;
+	}
+
+	public static PieceType pieceTypeOf(final int pieceIndex) {
+		return PIECE_TYPES[pieceIndex % NUM_PIECE_TYPES];
+	}
+
+	public static long tileBit(final int coordinate) {
+		return 1L << coordinate;
+	}
+	
+	public static long knightAttacks(final long knights) {
+		final long notFirstColumn = ~FIRST_COLUMN;
+		final long notEighthColumn = ~EIGHTH_COLUMN;
+		final long notFirstTwoColumns = ~(FIRST_COLUMN | SECOND_COLUMN);
+		final long notLastTwoColumns = ~(SEVENTH_COLUMN | EIGHTH_COLUMN);
+		
+		return ((knights << 17) & notFirstColumn) | ((knights << 15) & notEighthColumn) |
+			   ((knights << 10) & notFirstTwoColumns) | ((knights << 6) & notLastTwoColumns) |
+			   ((knights >>> 17) & notEighthColumn) | ((knights >>> 15) & notFirstColumn) |
+			   ((knights >>> 10) & notLastTwoColumns) | ((knights >>> 6) & notFirstTwoColumns);
+	}
+	
+	public static long kingAttacks(final long kings) {
+		final long sideways = ((kings << 1) & ~FIRST_COLUMN) | ((kings >>> 1) & ~EIGHTH_COLUMN);
+		final long row = kings | sideways;
+		
+		return sideways | (row << 8) | (row >>> 8);
+	}
+	
+	public static long pawnAttacks(final Alliance alliance,
+								   final long pawns) {
+		//white pawns move towards coordinate 0, black pawns towards coordinate 63
+		return alliance.isWhite() ?
+			   ((pawns >>> 9) & ~EIGHTH_COLUMN) | ((pawns >>> 7) & ~FIRST_COLUMN) :
+			   ((pawns << 7) & ~EIGHTH_COLUMN) | ((pawns << 9) & ~FIRST_COLUMN);
+	}
+
+	public static long knightAttacksFrom(final int coordinate) {
+		return KNIGHT_ATTACKS[coordinate];
+	}
+	
+	public static long kingAttacksFrom(final int coordinate) {
+		return KING_ATTACKS[coordinate];
+	}
+	
+	public static long pawnAttacksFrom(final Alliance alliance,
+									   final int coordinate) {
+		return PAWN_ATTACKS[alliance.ordinal()][coordinate];
+	}
+
+	/**
+	 * Returns the tiles strictly between two coordinates on a common rank,
+	 * file or diagonal, or no tiles if they do not share one.
+	 */
+	public static long between(final int from,
+							   final int to) {
+		return BETWEEN[from][to];
+	}
+
+	/**
+	 * Returns the whole rank, file or diagonal through both coordinates,
+	 * or no tiles if they do not share one.
+	 */
+	public static long line(final int from,
+							final int to) {
+		return LINE[from][to];
+	}
+
+	/**
+	 * Checks whether a piece of the attacker attacks the coordinate. The
+	 * attacks are looked up from the coordinate outwards, with a pawn,
+	 * knight, king and slider of the defending side standing there, so no
+	 * moves have to be generated.
+	 */
+	public boolean isSquareAttacked(final int coordinate,
+									final Alliance attacker) {
+		return isSquareAttacked(coordinate, attacker, occupied);
+	}
+
+	/**
+	 * Checks whether the coordinate is attacked if the sliders were blocked
+	 * by the given occupancy instead, e.g. with the king taken off to see
+	 * whether it may step back along the line of a checking slider.
+	 */
+	public boolean isSquareAttacked(final int coordinate,
+									final Alliance attacker,
+									final long occupancy) {
+		final long queens = getPieces(attacker, PieceType.QUEEN);
+
+		return (pawnAttacksFrom(attacker.getOpponent(), coordinate) & getPieces(attacker, PieceType.PAWN)) != 0 ||
+			   (KNIGHT_ATTACKS[coordinate] & getPieces(attacker, PieceType.KNIGHT)) != 0 ||
+			   (KING_ATTACKS[coordinate] & getPieces(attacker, PieceType.KING)) != 0 ||
+			   (MagicBitBoards.bishopAttacks(coordinate, occupancy) & (getPieces(attacker, PieceType.BISHOP) | queens)) != 0 ||
+			   (MagicBitBoards.rookAttacks(coordinate, occupancy) & (getPieces(attacker, PieceType.ROOK) | queens)) != 0;
+	}
+
+	/**
+	 * Returns all pieces of the attacker that attack the coordinate.
+	 */
+	public long getAttackers(final int coordinate,
+							 final Alliance attacker) {
+		final long queens = getPieces(attacker, PieceType.QUEEN);
+
+		return (pawnAttacksFrom(attacker.getOpponent(), coordinate) & getPieces(attacker, PieceType.PAWN)) |
+			   (KNIGHT_ATTACKS[coordinate] & getPieces(attacker, PieceType.KNIGHT)) |
+			   (KING_ATTACKS[coordinate] & getPieces(attacker, PieceType.KING)) |
+			   (MagicBitBoards.bishopAttacks(coordinate, occupied) & (getPieces(attacker, PieceType.BISHOP) | queens)) |
+			   (MagicBitBoards.rookAttacks(coordinate, occupied) & (getPieces(attacker, PieceType.ROOK) | queens));
+	}
+
+	/**
+	 * Returns the pieces of both sides that attack the coordinate, with the
+	 * sliders blocked by the given occupancy. Pieces that are not part of
+	 * the occupancy still count, the caller masks them out.
+	 */
+	public long getAttackers(final int coordinate,
+							 final long occupancy) {
+		final long queens = getPieces(Alliance.WHITE, PieceType.QUEEN) | getPieces(Alliance.BLACK, PieceType.QUEEN);
+		final long bishops = getPieces(Alliance.WHITE, PieceType.BISHOP) | getPieces(Alliance.BLACK, PieceType.BISHOP);
+		final long rooks = getPieces(Alliance.WHITE, PieceType.ROOK) | getPieces(Alliance.BLACK, PieceType.ROOK);
+
+		return (pawnAttacksFrom(Alliance.BLACK, coordinate) & getPieces(Alliance.WHITE, PieceType.PAWN)) |
+			   (pawnAttacksFrom(Alliance.WHITE, coordinate) & getPieces(Alliance.BLACK, PieceType.PAWN)) |
+			   (KNIGHT_ATTACKS[coordinate] & (getPieces(Alliance.WHITE, PieceType.KNIGHT) | getPieces(Alliance.BLACK, PieceType.KNIGHT))) |
+			   (KING_ATTACKS[coordinate] & (getPieces(Alliance.WHITE, PieceType.KING) | getPieces(Alliance.BLACK, PieceType.KING))) |
+			   (MagicBitBoards.bishopAttacks(coordinate, occupancy) & (bishops | queens)) |
+			   (MagicBitBoards.rookAttacks(coordinate, occupancy) & (rooks | queens));
+	}
+
+	/**
+	 * Returns the pieces of the alliance that are pinned to their king,
+	 * i.e. the only piece between the king and an opposing slider on
+	 * its line.
+	 */
+	public long getPinnedPieces(final Alliance alliance) {
+		final Alliance opponent = alliance.getOpponent();
+		final int kingCoordinate = getKingPosition(alliance);
+		final long opponentPieces = getAlliancePieces(opponent);
+		final long queens = getPieces(opponent, PieceType.QUEEN);
+		//the sliders that would attack the king if the pieces of its own side were gone
+		long snipers = (MagicBitBoards.rookAttacks(kingCoordinate, opponentPieces) & (getPieces(opponent, PieceType.ROOK) | queens)) |
+					   (MagicBitBoards.bishopAttacks(kingCoordinate, opponentPieces) & (getPieces(opponent, PieceType.BISHOP) | queens));
+		long pinned = 0L;
+
+		while (snipers != 0) {
+			final long blockers = BETWEEN[kingCoordinate][Long.numberOfTrailingZeros(snipers)] & occupied;
+
+			if(blockers != 0 && (blockers & (blockers - 1)) == 0) {
+				pinned |= blockers;
+			}
+
+			snipers &= snipers - 1;
+		}
+
+		return pinned;
+	}
+
+	/**
+	 * Returns the tiles attacked by the piece standing on the given
+	 * coordinate, regardless of what occupies them.
+	 */
+	public long getAttacks(final int coordinate) {
+		final int pieceIndex = pieceIndices[coordinate];
+		
+		switch (pieceTypeOf(pieceIndex)) {
+			case PAWN: return pawnAttacksFrom(allianceOf(pieceIndex), coordinate);
+			case KNIGHT: return KNIGHT_ATTACKS[coordinate];
+			case BISHOP: return MagicBitBoards.bishopAttacks(coordinate, occupied);
+			case ROOK: return MagicBitBoards.rookAttacks(coordinate, occupied);
+			case QUEEN: return MagicBitBoards.queenAttacks(coordinate, occupied);
+			default: return KING_ATTACKS[coordinate];
+		}
+	}
+	
+	/**
+	 * Getter and Setter methods.
+	 */
+	public long getPieces(final int pieceIndex) { return pieceBitBoards[pieceIndex]; }
+	public long getPieces(final Alliance alliance, final PieceType pieceType) { return pieceBitBoards[pieceIndex(alliance, pieceType)]; }
+	public long getAlliancePieces(final Alliance alliance) { return allianceBitBoards[alliance.ordinal()]; }
+	public long getOccupied() { return occupied; }
+	public long getEmpty() { return ~occupied; }
+	public boolean isOccupied(final int coordinate) { return (occupied & (1L << coordinate)) != 0; }
+	public int getPieceIndex(final int coordinate) { return pieceIndices[coordinate]; }
+	public int getKingPosition(final Alliance alliance) { return Long.numberOfTrailingZeros(getPieces(alliance, PieceType.KING)); }
+}
@@ -28,27 +28,29 @@ import com.google.common.collect.Iterables;
  * @date 10.09.2021
  */
 public class Board {
-	private final List<Tile> gameBoard;
+	private final Piece[] boardPieces;
+	private final BitBoard bitBoard;
 	private final Collection<Piece> whitePieces;
 	private final Collection<Piece> blackPieces;
 	private final WhitePlayer whitePlayer;
 	private final BlackPlayer blackPlayer;
 	private final Player currentPlayer;
 	private final Pawn enPassantPawn;
+	private final long zobristKey;
 	
 	private Board(final Builder builder) {
-		gameBoard = createGameBoard(builder);
-		whitePieces = calculateActivePieces(gameBoard, Alliance.WHITE);
-		blackPieces = calculateActivePieces(gameBoard, Alliance.BLACK);
+		boardPieces = createBoardPieces(builder);
+		bitBoard = createBitBoard(boardPieces);
+		whitePieces = calculateActivePieces(Alliance.WHITE);
+		blackPieces = calculateActivePieces(Alliance.BLACK);
 		enPassantPawn = builder.enPassantPawn;
-		
-		final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(whitePieces);
-		final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(blackPieces);
-		
-		whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-		blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+		//the players calculate their moves when first asked for them
+		whitePlayer = new WhitePlayer(this);
+		blackPlayer = new BlackPlayer(this);
 		
 		currentPlayer = builder.nextMoveMaker.choosePlayer(whitePlayer, blackPlayer);
+		zobristKey = Zobrist.calculateKey(bitBoard, currentPlayer.getAlliance(),
+										  SearchBoard.calculateCastlingRights(this), SearchBoard.calculateEnPassantCoordinate(this));
 	}
 	
 	@Override
@@ -56,7 +58,7 @@ public class Board {
 		final StringBuilder builder = new StringBuilder();
 		
 		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-			final String tileText = this.gameBoard.get(i).toString();
+			final String tileText = getTile(i).toString();
 			builder.append(String.format("%3s", tileText));
 			
 			if((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
@@ -67,40 +69,38 @@ public class Board {
 		return builder.toString();
 	}
 	
-	private static List<Tile> createGameBoard(final Builder builder) {
-		final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
+	private static Piece[] createBoardPieces(final Builder builder) {
+		final Piece[] pieces = new Piece[BoardUtils.NUM_TILES];
 		
-		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-			tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
+		for (final Piece piece : builder.boardConfig.values()) {
+			pieces[piece.getPiecePosition()] = piece;
 		}
 		
-		return ImmutableList.copyOf(tiles);
+		return pieces;
 	}
 	
-	private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-		final List<Piece> activePieces = new ArrayList<>();
+	private static BitBoard createBitBoard(final Piece[] boardPieces) {
+		final BitBoard bitBoard = new BitBoard();
 		
-		for (final Tile tile : gameBoard) {
-			if(tile.isTileOccupied()) {
-				final Piece piece = tile.getPiece();
-				
-				if(piece.getPieceAlliance() == alliance) {
-					activePieces.add(piece);
-				}
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			final Piece piece = boardPieces[i];
+			
+			if(piece != null) {
+				bitBoard.setPiece(BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType()), i);
 			}
 		}
 		
-		return ImmutableList.copyOf(activePieces);
+		return bitBoard;
 	}
 	
-	private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
-		final List<Move> legalMoves = new ArrayList<>();
+	private Collection<Piece> calculateActivePieces(final Alliance alliance) {
+		final List<Piece> activePieces = new ArrayList<>();
 		
-		for (final Piece piece : pieces) {
-			legalMoves.addAll(piece.calculateLegalMoves(this));
+		for (long pieces = bitBoard.getAlliancePieces(alliance); pieces != 0; pieces &= pieces - 1) {
+			activePieces.add(boardPieces[Long.numberOfTrailingZeros(pieces)]);
 		}
 		
-		return ImmutableList.copyOf(legalMoves);
+		return ImmutableList.copyOf(activePieces);
 	}
 	
 	public static Board createStandardBoard() {
@@ -151,7 +151,9 @@ public class Board {
 	/**
 	 * Getter and Setter methods.
 	 */
-	public Piece getPiece(final int coordinate) { return gameBoard.get(coordinate).getPiece(); }
+	public Piece getPiece(final int coordinate) { return boardPieces[coordinate]; }
+	public boolean isTileOccupied(final int coordinate) { return bitBoard.isOccupied(coordinate); }
+	public BitBoard getBitBoard() { return bitBoard; }
 	public Collection<Piece> getWhitePieces() { return this.whitePieces; }
 	public Collection<Piece> getBlackPieces() { return this.blackPieces; }
     public Collection<Piece> getAllPieces() {
@@ -168,11 +170,12 @@ public class Board {
         return allPieces;
     }
 	public Pawn getEnPassantPawn() { return enPassantPawn; }
+	public long getZobristKey() { return zobristKey; }
 	public Player getWhitePlayer() { return whitePlayer; }
 	public Player getBlackPlayer() { return blackPlayer; }
 	public Player getCurrentPlayer() { return currentPlayer; }
 	public Iterable<Move> getAllLegalMoves() { return Iterables.unmodifiableIterable(Iterables.concat(whitePlayer.getLegalMoves(), blackPlayer.getLegalMoves())); }
-	public Tile getTile(final int tileCoordinate) { return gameBoard.get(tileCoordinate); }
+	public Tile getTile(final int tileCoordinate) { return Tile.createTile(tileCoordinate, boardPieces[tileCoordinate]); }
 	
 	
 	/**
@@ -0,0 +1,260 @@
+package de.wieland.Chess.engine.board;
+
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.pieces.Bishop;
+import de.wieland.Chess.engine.pieces.King;
+import de.wieland.Chess.engine.pieces.Knight;
+import de.wieland.Chess.engine.pieces.Pawn;
+import de.wieland.Chess.engine.pieces.Piece;
+import de.wieland.Chess.engine.pieces.PieceType;
+import de.wieland.Chess.engine.pieces.Queen;
+import de.wieland.Chess.engine.pieces.Rook;
+
+/**
+ * Public final class FenUtils.
+ *
+ * Reads a Board from Forsyth-Edwards Notation and writes it back. The
+ * castling rights become the first move state of the kings and rooks, and
+ * the en passant square becomes the en passant pawn of the board. The
+ * board does not keep move counters, so they are ignored when reading and
+ * written as "0 1".
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class FenUtils {
+	public static final String STANDARD_START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private FenUtils() {
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+	/**
+	 * Creates the board described by the given FEN string. Only the piece
+	 * placement and the side to move are required, missing castling and en
+	 * passant fields mean none.
+	 */
+	public static Board createBoardFromFen(final String fen) {
+		final String[] fields = fen.trim().split(" +");
+
+		if(fields.length < 2) {
+			throw new IllegalArgumentException("Invalid FEN: " + fen);
+		}
+
+		final Alliance moveMaker = parseMoveMaker(fields[1], fen);
+		final String castles = fields.length > 2 ? fields[2] : "-";
+		final Piece[] pieces = parsePlacement(fields[0], castles, fen);
+		final Board.Builder builder = new Board.Builder();
+
+		for (final Piece piece : pieces) {
+			if(piece != null) {
+				builder.setPiece(piece);
+			}
+		}
+
+		builder.setMoveMaker(moveMaker);
+
+		if(fields.length > 3 && !fields[3].equals("-")) {
+			builder.setEnPassantPawn(parseEnPassantPawn(fields[3], pieces, moveMaker, fen));
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Returns the FEN string of the given board.
+	 */
+	public static String createFenFromBoard(final Board board) {
+		final StringBuilder builder = new StringBuilder(90);
+
+		appendPlacement(board, builder);
+		builder.append(board.getCurrentPlayer().getAlliance().isWhite() ? " w " : " b ");
+		appendCastles(SearchBoard.calculateCastlingRights(board), builder);
+		builder.append(' ');
+
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+
+		if(enPassantPawn != null) {
+			//the tile the pawn jumped over
+			builder.append(BoardUtils.getPositionAtCoordinate(enPassantPawn.getPiecePosition() -
+							enPassantPawn.getPieceAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW));
+		} else {
+			builder.append('-');
+		}
+
+		return builder.append(" 0 1").toString();
+	}
+
+	private static Alliance parseMoveMaker(final String field,
+										   final String fen) {
+		switch (field) {
+			case "w":
+				return Alliance.WHITE;
+			case "b":
+				return Alliance.BLACK;
+			default:
+				throw new IllegalArgumentException("Invalid side to move in FEN: " + fen);
+		}
+	}
+
+	private static Piece[] parsePlacement(final String placement,
+										  final String castles,
+										  final String fen) {
+		final Piece[] pieces = new Piece[BoardUtils.NUM_TILES];
+		int coordinate = 0;
+
+		for (int i = 0; i < placement.length(); i++) {
+			final char c = placement.charAt(i);
+
+			if(c == '/') {
+				if(coordinate % BoardUtils.NUM_TILES_PER_ROW != 0) {
+					throw new IllegalArgumentException("Invalid rank in FEN: " + fen);
+				}
+
+				continue;
+			}
+
+			if(c >= '1' && c <= '8') {
+				coordinate += c - '0';
+				continue;
+			}
+
+			if(coordinate >= BoardUtils.NUM_TILES) {
+				throw new IllegalArgumentException("Too many tiles in FEN: " + fen);
+			}
+
+			pieces[coordinate] = createPiece(c, coordinate, castles, fen);
+			coordinate++;
+		}
+
+		if(coordinate != BoardUtils.NUM_TILES) {
+			throw new IllegalArgumentException("Invalid piece placement in FEN: " + fen);
+		}
+
+		return pieces;
+	}
+
+	private static Piece createPiece(final char c,
+									 final int coordinate,
+									 final String castles,
+									 final String fen) {
+		final Alliance alliance = Character.isUpperCase(c) ? Alliance.WHITE : Alliance.BLACK;
+		final boolean isWhite = alliance.isWhite();
+
+		switch (Character.toLowerCase(c)) {
+			case 'p':
+				//a pawn on its start rank has not moved yet and may still jump
+				return new Pawn(alliance, coordinate, isWhite ? BoardUtils.SECOND_RANK[coordinate] : BoardUtils.SEVENTH_RANK[coordinate]);
+			case 'n':
+				return new Knight(alliance, coordinate);
+			case 'b':
+				return new Bishop(alliance, coordinate);
+			case 'r':
+				return new Rook(alliance, coordinate, isUnmovedRook(coordinate, isWhite, castles));
+			case 'q':
+				return new Queen(alliance, coordinate);
+			case 'k':
+				final boolean isOnStartTile = coordinate == (isWhite ? 60 : 4);
+				final boolean kingSideCastleCapable = isOnStartTile && castles.indexOf(isWhite ? 'K' : 'k') >= 0;
+				final boolean queenSideCastleCapable = isOnStartTile && castles.indexOf(isWhite ? 'Q' : 'q') >= 0;
+
+				return new King(alliance, coordinate, kingSideCastleCapable || queenSideCastleCapable, false,
+								kingSideCastleCapable, queenSideCastleCapable);
+			default:
+				throw new IllegalArgumentException("Invalid piece '" + c + "' in FEN: " + fen);
+		}
+	}
+
+	private static boolean isUnmovedRook(final int coordinate,
+										 final boolean isWhite,
+										 final String castles) {
+		if(isWhite) {
+			return (coordinate == 63 && castles.indexOf('K') >= 0) || (coordinate == 56 && castles.indexOf('Q') >= 0);
+		}
+
+		return (coordinate == 7 && castles.indexOf('k') >= 0) || (coordinate == 0 && castles.indexOf('q') >= 0);
+	}
+
+	private static Pawn parseEnPassantPawn(final String field,
+										   final Piece[] pieces,
+										   final Alliance moveMaker,
+										   final String fen) {
+		final Integer enPassantCoordinate = BoardUtils.POSITION_TO_COORDINATE.get(field);
+
+		if(enPassantCoordinate == null) {
+			throw new IllegalArgumentException("Invalid en passant tile in FEN: " + fen);
+		}
+
+		//the pawn of the opponent that jumped over the en passant tile
+		final int pawnCoordinate = enPassantCoordinate - moveMaker.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+
+		if(pawnCoordinate < 0 || pawnCoordinate >= BoardUtils.NUM_TILES) {
+			throw new IllegalArgumentException("Invalid en passant tile in FEN: " + fen);
+		}
+
+		final Piece piece = pieces[pawnCoordinate];
+
+		if(piece == null || piece.getPieceType() != PieceType.PAWN || piece.getPieceAlliance() == moveMaker) {
+			throw new IllegalArgumentException("No pawn to capture en passant in FEN: " + fen);
+		}
+
+		return (Pawn) piece;
+	}
+
+	private static void appendPlacement(final Board board,
+										final StringBuilder builder) {
+		int emptyTiles = 0;
+
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			final Piece piece = board.getPiece(i);
+
+			if(piece == null) {
+				emptyTiles++;
+			} else {
+				if(emptyTiles > 0) {
+					builder.append(emptyTiles);
+					emptyTiles = 0;
+				}
+
+				final String pieceName = piece.getPieceType().toString();
+				builder.append(piece.getPieceAlliance().isWhite() ? pieceName : pieceName.toLowerCase());
+			}
+
+			if((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+				if(emptyTiles > 0) {
+					builder.append(emptyTiles);
+					emptyTiles = 0;
+				}
+
+				if(i != BoardUtils.NUM_TILES - 1) {
+					builder.append('/');
+				}
+			}
+		}
+	}
+
+	private static void appendCastles(final int castlingRights,
+									  final StringBuilder builder) {
+		if(castlingRights == 0) {
+			builder.append('-');
+			return;
+		}
+
+		if((castlingRights & SearchBoard.WHITE_KING_SIDE_CASTLE) != 0) {
+			builder.append('K');
+		}
+
+		if((castlingRights & SearchBoard.WHITE_QUEEN_SIDE_CASTLE) != 0) {
+			builder.append('Q');
+		}
+
+		if((castlingRights & SearchBoard.BLACK_KING_SIDE_CASTLE) != 0) {
+			builder.append('k');
+		}
+
+		if((castlingRights & SearchBoard.BLACK_QUEEN_SIDE_CASTLE) != 0) {
+			builder.append('q');
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package de.wieland.Chess.engine.board;
+
+/**
+ * Public final class MagicBitBoards.
+ *
+ * Precomputed sliding attack tables. For every tile the relevant blocker
+ * mask is multiplied by a magic number, which maps each blocker subset to
+ * a unique slot of the attack table, so the full attack set of a rook or
+ * bishop is a single table lookup. The magic numbers are searched once at
+ * class initialization with a fixed seed.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class MagicBitBoards {
+	private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+	private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+	private static final long MAGIC_SEED = 0x2C1B3C6DL;
+
+	private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+	private static final long[] ROOK_MAGICS = new long[BoardUtils.NUM_TILES];
+	private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+	private static final long[][] ROOK_ATTACKS = new long[BoardUtils.NUM_TILES][];
+
+	private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+	private static final long[] BISHOP_MAGICS = new long[BoardUtils.NUM_TILES];
+	private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+	private static final long[][] BISHOP_ATTACKS = new long[BoardUtils.NUM_TILES][];
+
+	static {
+		final long[] randomState = {MAGIC_SEED};
+		initMagics(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_ATTACKS, randomState);
+		initMagics(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_ATTACKS, randomState);
+	}
+
+	private MagicBitBoards() {
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+	public static long rookAttacks(final int coordinate,
+								   final long occupied) {
+		return ROOK_ATTACKS[coordinate][(int) (((occupied & ROOK_MASKS[coordinate]) * ROOK_MAGICS[coordinate]) >>> ROOK_SHIFTS[coordinate])];
+	}
+
+	public static long bishopAttacks(final int coordinate,
+									 final long occupied) {
+		return BISHOP_ATTACKS[coordinate][(int) (((occupied & BISHOP_MASKS[coordinate]) * BISHOP_MAGICS[coordinate]) >>> BISHOP_SHIFTS[coordinate])];
+	}
+
+	public static long queenAttacks(final int coordinate,
+									final long occupied) {
+		return rookAttacks(coordinate, occupied) | bishopAttacks(coordinate, occupied);
+	}
+
+	private static void initMagics(final int[][] directions,
+								   final long[] masks,
+								   final long[] magics,
+								   final int[] shifts,
+								   final long[][] attacks,
+								   final long[] randomState) {
+		for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+			final long mask = blockerMask(coordinate, directions);
+			final int bits = Long.bitCount(mask);
+			final int numSubsets = 1 << bits;
+			final long[] occupancies = new long[numSubsets];
+			final long[] subsetAttacks = new long[numSubsets];
+
+			//enumerate every blocker subset of the mask (carry-rippler)
+			long subset = 0;
+			for (int i = 0; i < numSubsets; i++) {
+				occupancies[i] = subset;
+				subsetAttacks[i] = slidingAttacks(coordinate, subset, directions);
+				subset = (subset - mask) & mask;
+			}
+
+			masks[coordinate] = mask;
+			shifts[coordinate] = Long.SIZE - bits;
+			attacks[coordinate] = new long[numSubsets];
+			magics[coordinate] = findMagic(mask, occupancies, subsetAttacks, shifts[coordinate], attacks[coordinate], randomState);
+		}
+	}
+
+	private static long findMagic(final long mask,
+								  final long[] occupancies,
+								  final long[] subsetAttacks,
+								  final int shift,
+								  final long[] table,
+								  final long[] randomState) {
+		final int[] usedInAttempt = new int[table.length];
+
+		for (int attempt = 1; ; attempt++) {
+			final long magic = nextRandom(randomState) & nextRandom(randomState) & nextRandom(randomState);
+
+			if(Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+				continue;
+			}
+
+			boolean collision = false;
+
+			for (int i = 0; i < occupancies.length && !collision; i++) {
+				final int index = (int) ((occupancies[i] * magic) >>> shift);
+
+				if(usedInAttempt[index] != attempt) {
+					usedInAttempt[index] = attempt;
+					table[index] = subsetAttacks[i];
+				} else if(table[index] != subsetAttacks[i]) {
+					collision = true;
+				}
+			}
+
+			if(!collision) {
+				return magic;
+			}
+		}
+	}
+
+	private static long nextRandom(final long[] randomState) {
+		//xorshift64*, cheap and good enough to find sparse magic candidates quickly
+		long x = randomState[0];
+		x ^= x >>> 12;
+		x ^= x << 25;
+		x ^= x >>> 27;
+		randomState[0] = x;
+		return x * 0x2545F4914F6CDD1DL;
+	}
+
+	private static long blockerMask(final int coordinate,
+									final int[][] directions) {
+		long mask = 0;
+
+		for (final int[] direction : directions) {
+			int row = coordinate / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+			int column = coordinate % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+
+			//the last tile of a ray never blocks anything behind it
+			while (isOnBoard(row + direction[0], column + direction[1])) {
+				mask |= 1L << (row * BoardUtils.NUM_TILES_PER_ROW + column);
+				row += direction[0];
+				column += direction[1];
+			}
+		}
+
+		return mask;
+	}
+
+	private static long slidingAttacks(final int coordinate,
+									   final long occupied,
+									   final int[][] directions) {
+		long attacks = 0;
+
+		for (final int[] direction : directions) {
+			int row = coordinate / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+			int column = coordinate % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+
+			while (isOnBoard(row, column)) {
+				final long bit = 1L << (row * BoardUtils.NUM_TILES_PER_ROW + column);
+				attacks |= bit;
+
+				if((occupied & bit) != 0) {
+					break;
+				}
+
+				row += direction[0];
+				column += direction[1];
+			}
+		}
+
+		return attacks;
+	}
+
+	private static boolean isOnBoard(final int row,
+									 final int column) {
+		return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+	}
+}
@@ -94,6 +94,14 @@ public abstract class Move {
 		return builder.build();
 	}
 	
+	/**
+	 * Returns the material the move wins or loses once the exchange on its
+	 * destination is played out, see SearchBoard.staticExchange.
+	 */
+	public int staticExchange() {
+		return new SearchBoard(board).staticExchange(SearchBoard.encodeMove(this));
+	}
+	
 	public boolean isAttack() { return false; }
 	public boolean isCastlingMove() { return false; }
 	//TODO
@@ -408,6 +416,8 @@ public abstract class Move {
 		public Piece getAttackedPiece() {
 			return decoratedMove.getAttackedPiece();
 		}
+		
+		public Piece getPromotionPiece() { return promotionPiece; }
 	}
 	
 	
@@ -0,0 +1,126 @@
+package de.wieland.Chess.engine.board;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Public final class Perft.
+ *
+ * Counts the leaf nodes of the legal move tree up to a given depth. The
+ * counts of well known positions are published, so any difference points
+ * to a move generation bug, and the time taken measures the speed of move
+ * generation. Divide splits the count by root move to narrow a difference
+ * down. Both the immutable Board and the SearchBoard used by the AI can
+ * be counted.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class Perft {
+
+	private Perft() {
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+	public static long perft(final Board board,
+							 final int depth) {
+		if(depth == 0) {
+			return 1;
+		}
+
+		long nodes = 0;
+
+		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+			final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
+
+			if(moveTransition.getMoveStatus().isDone()) {
+				nodes += perft(moveTransition.getToBoard(), depth - 1);
+			}
+		}
+
+		return nodes;
+	}
+
+	public static Map<String, Long> divide(final Board board,
+										   final int depth) {
+		final Map<String, Long> nodesPerMove = new LinkedHashMap<>();
+
+		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+			final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
+
+			if(moveTransition.getMoveStatus().isDone()) {
+				nodesPerMove.put(SearchBoard.moveToString(SearchBoard.encodeMove(move)), perft(moveTransition.getToBoard(), depth - 1));
+			}
+		}
+
+		return nodesPerMove;
+	}
+
+	public static long perft(final SearchBoard board,
+							 final int depth) {
+		if(depth == 0) {
+			return 1;
+		}
+
+		final int[] moves = board.getMoveBuffer();
+		final int numMoves = board.generateMoves(moves);
+
+		//every generated move is legal, so the last ply is counted without making its moves
+		if(depth == 1) {
+			return numMoves;
+		}
+
+		long nodes = 0;
+
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(moves[i]);
+			nodes += perft(board, depth - 1);
+			board.unmakeMove();
+		}
+
+		return nodes;
+	}
+
+	public static Map<String, Long> divide(final SearchBoard board,
+										   final int depth) {
+		final Map<String, Long> nodesPerMove = new LinkedHashMap<>();
+		final int[] moves = board.getMoveBuffer();
+		final int numMoves = board.generateMoves(moves);
+
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(moves[i]);
+			nodesPerMove.put(SearchBoard.moveToString(moves[i]), perft(board, depth - 1));
+			board.unmakeMove();
+		}
+
+		return nodesPerMove;
+	}
+
+	/**
+	 * Prints the divide of a position and the nodes per second.
+	 * Usage: Perft depth [board|search] [fen], the standard start position
+	 * is counted if no FEN is given.
+	 */
+	public static void main(final String[] args) {
+		final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		final boolean useBoard = args.length > 1 && args[1].equals("board");
+		final Board board = FenUtils.createBoardFromFen(args.length > 2 ? String.join(" ", Arrays.copyOfRange(args, 2, args.length)) :
+																		  FenUtils.STANDARD_START_POSITION);
+
+		final long startTime = System.nanoTime();
+		final Map<String, Long> nodesPerMove = useBoard ? divide(board, depth) : divide(new SearchBoard(board), depth);
+		final long executionTime = System.nanoTime() - startTime;
+
+		long nodes = 0;
+
+		for (final Map.Entry<String, Long> entry : nodesPerMove.entrySet()) {
+			System.out.println(entry.getKey() + ": " + entry.getValue());
+			nodes += entry.getValue();
+		}
+
+		System.out.printf("%nnodes = %d, time taken = %d ms, nps = %d%n", nodes, executionTime / 1_000_000,
+						  nodes * 1_000_000_000L / Math.max(1, executionTime));
+	}
+}
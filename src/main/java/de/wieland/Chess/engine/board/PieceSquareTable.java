@@ -0,0 +1,146 @@
+package de.wieland.Chess.engine.board;
+
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.pieces.PieceType;
+
+/**
+ * Public final class PieceSquareTable.
+ *
+ * The value of every piece on every tile, its material value plus the
+ * location bonus of its alliance, in one table built when the class is
+ * loaded. The score of a side is the sum over its pieces, so a move only
+ * has to subtract and add the entries of the pieces it moves, the same
+ * way the Zobrist key is kept.
+ *
+ * Every entry holds a middlegame and an endgame score packed into one int,
+ * the middlegame score in the upper and the endgame score in the lower
+ * half. Sums and differences of packed scores stay packed, so both halves
+ * are kept with a single addition and only the final score is blended by
+ * the phase of the game, which falls from MAX_PHASE with all pieces on the
+ * board to 0 with only kings and pawns left.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class PieceSquareTable {
+	public static final int MAX_PHASE = 24;
+
+	private static final int[][] SCORES = new int[BitBoard.NUM_PIECE_INDICES][BoardUtils.NUM_TILES];
+	private static final int[] PHASES = new int[BitBoard.NUM_PIECE_INDICES];
+
+	static {
+		for (int pieceIndex = 0; pieceIndex < BitBoard.NUM_PIECE_INDICES; pieceIndex++) {
+			final Alliance alliance = BitBoard.allianceOf(pieceIndex);
+			final PieceType pieceType = BitBoard.pieceTypeOf(pieceIndex);
+
+			for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+				SCORES[pieceIndex][coordinate] = pack(pieceType.getPieceValue() + locationBonus(alliance, pieceType, coordinate),
+													  pieceType.getPieceValue() + endGameLocationBonus(alliance, pieceType, coordinate));
+			}
+
+			PHASES[pieceIndex] = phaseWeight(pieceType);
+		}
+	}
+
+	private PieceSquareTable() {
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+	/**
+	 * Computes the packed score of an alliance from scratch.
+	 */
+	public static int calculateScore(final BitBoard bitBoard,
+									 final Alliance alliance) {
+		int score = 0;
+
+		for (long pieces = bitBoard.getAlliancePieces(alliance); pieces != 0; pieces &= pieces - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(pieces);
+			score += SCORES[bitBoard.getPieceIndex(coordinate)][coordinate];
+		}
+
+		return score;
+	}
+
+	/**
+	 * Computes the phase of the game from scratch.
+	 */
+	public static int calculatePhase(final BitBoard bitBoard) {
+		int phase = 0;
+
+		for (long pieces = bitBoard.getOccupied(); pieces != 0; pieces &= pieces - 1) {
+			phase += PHASES[bitBoard.getPieceIndex(Long.numberOfTrailingZeros(pieces))];
+		}
+
+		return phase;
+	}
+
+	/**
+	 * Blends the two halves of a packed score by the phase of the game.
+	 * Promotions can push the phase above MAX_PHASE, which still counts as
+	 * the middlegame.
+	 */
+	public static int taper(final int score,
+							final int phase) {
+		final int middleGame = middleGame(score);
+		final int endGame = endGame(score);
+
+		return endGame + (middleGame - endGame) * Math.min(phase, MAX_PHASE) / MAX_PHASE;
+	}
+
+	public static int pack(final int middleGame,
+						   final int endGame) {
+		return (middleGame << 16) + endGame;
+	}
+
+	public static int middleGame(final int score) {
+		//rounds up where the signed lower half borrowed from the upper one
+		return (score + 0x8000) >> 16;
+	}
+
+	public static int endGame(final int score) {
+		return (short) score;
+	}
+
+	private static int phaseWeight(final PieceType pieceType) {
+		switch (pieceType) {
+			case KNIGHT: return 1;
+			case BISHOP: return 1;
+			case ROOK: return 2;
+			case QUEEN: return 4;
+			default: return 0;
+		}
+	}
+
+	private static int locationBonus(final Alliance alliance,
+									 final PieceType pieceType,
+									 final int coordinate) {
+		switch (pieceType) {
+			case PAWN: return alliance.pawnBonus(coordinate);
+			case KNIGHT: return alliance.knightBonus(coordinate);
+			case BISHOP: return alliance.bishopBonus(coordinate);
+			case ROOK: return alliance.rookBonus(coordinate);
+			case QUEEN: return alliance.queenBonus(coordinate);
+			default: return alliance.kingBonus(coordinate);
+		}
+	}
+
+	/**
+	 * Only pawns and the king change their preferred tiles in the endgame.
+	 */
+	private static int endGameLocationBonus(final Alliance alliance,
+											final PieceType pieceType,
+											final int coordinate) {
+		switch (pieceType) {
+			case PAWN: return alliance.pawnEndGameBonus(coordinate);
+			case KING: return alliance.kingEndGameBonus(coordinate);
+			default: return locationBonus(alliance, pieceType, coordinate);
+		}
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public static int score(final int pieceIndex, final int coordinate) { return SCORES[pieceIndex][coordinate]; }
+	public static int phase(final int pieceIndex) { return PHASES[pieceIndex]; }
+}
@@ -0,0 +1,888 @@
+package de.wieland.Chess.engine.board;
+
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.board.Move.KingSideCastleMove;
+import de.wieland.Chess.engine.board.Move.MoveFactory;
+import de.wieland.Chess.engine.board.Move.PawnEnPassantAttackMove;
+import de.wieland.Chess.engine.board.Move.PawnJump;
+import de.wieland.Chess.engine.board.Move.PawnPromotion;
+import de.wieland.Chess.engine.board.Move.QueenSideCastleMove;
+import de.wieland.Chess.engine.pieces.King;
+import de.wieland.Chess.engine.pieces.Piece;
+import de.wieland.Chess.engine.pieces.PieceType;
+
+/**
+ * Public final class SearchBoard.
+ *
+ * Mutable position used by the AI. Moves are applied with makeMove and
+ * reverted with unmakeMove, so a search walks the tree on one instance
+ * instead of building a new Board for every node. Moves are encoded as
+ * ints holding the from and to coordinates, a move flag and the indices
+ * of the moved and the captured piece, and are generated into int arrays
+ * that are reused by every node of the same ply. Only legal moves are
+ * generated: checks and pins are resolved up front into masks of the
+ * tiles a piece may move to, so no move has to be tried and taken back.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class SearchBoard {
+	public static final int MAX_MOVES = 256;
+	public static final int NO_EN_PASSANT = -1;
+	public static final int NO_MOVE = 0;
+
+	public static final int WHITE_KING_SIDE_CASTLE = 1;
+	public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+	public static final int BLACK_KING_SIDE_CASTLE = 4;
+	public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+
+	public static final int QUIET_MOVE = 0;
+	public static final int PAWN_JUMP = 1;
+	public static final int KING_SIDE_CASTLE = 2;
+	public static final int QUEEN_SIDE_CASTLE = 3;
+	public static final int EN_PASSANT = 4;
+	public static final int KNIGHT_PROMOTION = 5;
+	public static final int BISHOP_PROMOTION = 6;
+	public static final int ROOK_PROMOTION = 7;
+	public static final int QUEEN_PROMOTION = 8;
+
+	private static final int MAX_HISTORY = 1024;
+	private static final int MAX_EXCHANGES = 32;
+	private static final int COORDINATE_MASK = 0x3F;
+	private static final int NIBBLE_MASK = 0xF;
+	private static final int DESTINATION_SHIFT = 6;
+	private static final int FLAG_SHIFT = 12;
+	private static final int MOVED_PIECE_SHIFT = 16;
+	private static final int CAPTURED_PIECE_SHIFT = 20;
+	private static final Alliance[] ALLIANCES = Alliance.values();
+	private static final int[] CASTLING_RIGHTS_MASK = initCastlingRightsMask();
+
+	private final BitBoard bitBoard;
+	private int moveMaker;
+	private int castlingRights;
+	private int enPassantCoordinate;
+	private int castledFlags;
+	private long zobristKey;
+	private long pawnKey;
+	private final int[] pieceSquareScores = new int[2];
+	private int phase;
+
+	private int historySize;
+	private final int[] moveHistory = new int[MAX_HISTORY];
+	private final int[] castlingRightsHistory = new int[MAX_HISTORY];
+	private final int[] enPassantHistory = new int[MAX_HISTORY];
+	private final int[] castledHistory = new int[MAX_HISTORY];
+	private final long[] keyHistory = new long[MAX_HISTORY];
+	private final int[] scratchMoves = new int[MAX_MOVES];
+	private final int[] exchangeGains = new int[MAX_EXCHANGES + 1];
+	private final int[][] moveBuffers = new int[MAX_HISTORY + 1][];
+	private final int[][] scoreBuffers = new int[MAX_HISTORY + 1][];
+
+	//tiles the pieces other than the king may move to and the pinned pieces, set before every generation
+	private long checkMask;
+	private long pinnedPieces;
+	private boolean isLegalOnly;
+
+	public SearchBoard(final Board board) {
+		bitBoard = board.getBitBoard().copy();
+		moveMaker = board.getCurrentPlayer().getAlliance().ordinal();
+		castlingRights = calculateCastlingRights(board);
+		enPassantCoordinate = calculateEnPassantCoordinate(board);
+		castledFlags = (board.getWhitePlayer().isCastled() ? 1 : 0) | (board.getBlackPlayer().isCastled() ? 2 : 0);
+		zobristKey = board.getZobristKey();
+		pawnKey = Zobrist.calculatePawnKey(bitBoard);
+		pieceSquareScores[Alliance.WHITE.ordinal()] = PieceSquareTable.calculateScore(bitBoard, Alliance.WHITE);
+		pieceSquareScores[Alliance.BLACK.ordinal()] = PieceSquareTable.calculateScore(bitBoard, Alliance.BLACK);
+		phase = PieceSquareTable.calculatePhase(bitBoard);
+		historySize = 0;
+	}
+
+	public static int calculateCastlingRights(final Board board) {
+		return castlingRights(board, board.getWhitePlayer().getPlayerKing(), 60, 63, 56, WHITE_KING_SIDE_CASTLE, WHITE_QUEEN_SIDE_CASTLE) |
+			   castlingRights(board, board.getBlackPlayer().getPlayerKing(), 4, 7, 0, BLACK_KING_SIDE_CASTLE, BLACK_QUEEN_SIDE_CASTLE);
+	}
+
+	private static int castlingRights(final Board board,
+									  final King king,
+									  final int kingCoordinate,
+									  final int kingSideRookCoordinate,
+									  final int queenSideRookCoordinate,
+									  final int kingSideRight,
+									  final int queenSideRight) {
+		if(!king.isFirstMove() || king.getPiecePosition() != kingCoordinate) {
+			return 0;
+		}
+
+		int rights = 0;
+
+		if(king.isKingSideCastleCapable() && isUnmovedRook(board.getPiece(kingSideRookCoordinate), king.getPieceAlliance())) {
+			rights |= kingSideRight;
+		}
+
+		if(king.isQueenSideCastleCapable() && isUnmovedRook(board.getPiece(queenSideRookCoordinate), king.getPieceAlliance())) {
+			rights |= queenSideRight;
+		}
+
+		return rights;
+	}
+
+	private static boolean isUnmovedRook(final Piece piece,
+										 final Alliance alliance) {
+		return piece != null && piece.getPieceType().isRook() && piece.getPieceAlliance() == alliance && piece.isFirstMove();
+	}
+
+	static int calculateEnPassantCoordinate(final Board board) {
+		final Piece enPassantPawn = board.getEnPassantPawn();
+
+		if(enPassantPawn == null || enPassantPawn.getPieceAlliance() == board.getCurrentPlayer().getAlliance()) {
+			return NO_EN_PASSANT;
+		}
+
+		//the tile the pawn jumped over
+		return enPassantPawn.getPiecePosition() - enPassantPawn.getPieceAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+	}
+
+	private static int[] initCastlingRightsMask() {
+		final int[] mask = new int[BoardUtils.NUM_TILES];
+		final int allRights = WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE | BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE;
+
+		for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+			mask[i] = allRights;
+		}
+
+		mask[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+		mask[63] &= ~WHITE_KING_SIDE_CASTLE;
+		mask[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+		mask[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+		mask[7] &= ~BLACK_KING_SIDE_CASTLE;
+		mask[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+
+		return mask;
+	}
+
+	/**
+	 * Packs a move into an int. The captured piece is stored one up, so
+	 * NO_PIECE takes no extra bit and NO_MOVE stays zero.
+	 */
+	public static int createMove(final int currentCoordinate,
+								 final int destinationCoordinate,
+								 final int moveFlag,
+								 final int movedPieceIndex,
+								 final int capturedPieceIndex) {
+		return currentCoordinate | (destinationCoordinate << DESTINATION_SHIFT) | (moveFlag << FLAG_SHIFT) |
+			   (movedPieceIndex << MOVED_PIECE_SHIFT) | ((capturedPieceIndex + 1) << CAPTURED_PIECE_SHIFT);
+	}
+
+	private int createMove(final int currentCoordinate,
+						   final int destinationCoordinate,
+						   final int moveFlag) {
+		return createMove(currentCoordinate, destinationCoordinate, moveFlag,
+						  bitBoard.getPieceIndex(currentCoordinate), bitBoard.getPieceIndex(destinationCoordinate));
+	}
+
+	public static int encodeMove(final Move move) {
+		final int moveFlag;
+
+		if(move instanceof PawnPromotion) {
+			moveFlag = promotionFlag(((PawnPromotion) move).getPromotionPiece().getPieceType());
+		} else if(move instanceof PawnJump) {
+			moveFlag = PAWN_JUMP;
+		} else if(move instanceof PawnEnPassantAttackMove) {
+			moveFlag = EN_PASSANT;
+		} else if(move instanceof KingSideCastleMove) {
+			moveFlag = KING_SIDE_CASTLE;
+		} else if(move instanceof QueenSideCastleMove) {
+			moveFlag = QUEEN_SIDE_CASTLE;
+		} else {
+			moveFlag = QUIET_MOVE;
+		}
+
+		final Piece movedPiece = move.getMovedPiece();
+		final Piece attackedPiece = move.getAttackedPiece();
+
+		return createMove(move.getCurrentCoordinate(), move.getDestinationCoordinate(), moveFlag,
+						  BitBoard.pieceIndex(movedPiece.getPieceAlliance(), movedPiece.getPieceType()),
+						  attackedPiece == null ? BitBoard.NO_PIECE : BitBoard.pieceIndex(attackedPiece.getPieceAlliance(), attackedPiece.getPieceType()));
+	}
+
+	/**
+	 * Finds the legal move of the current player of the board that the
+	 * int move stands for, or the null move if there is none.
+	 */
+	public static Move decodeMove(final Board board,
+								  final int move) {
+		for (final Move legalMove : board.getCurrentPlayer().getLegalMoves()) {
+			if(encodeMove(legalMove) == move) {
+				return legalMove;
+			}
+		}
+
+		return MoveFactory.getNullMove();
+	}
+
+	private static int promotionFlag(final PieceType pieceType) {
+		switch (pieceType) {
+			case KNIGHT: return KNIGHT_PROMOTION;
+			case BISHOP: return BISHOP_PROMOTION;
+			case ROOK: return ROOK_PROMOTION;
+			default: return QUEEN_PROMOTION;
+		}
+	}
+
+	private static PieceType promotionPieceType(final int moveFlag) {
+		switch (moveFlag) {
+			case KNIGHT_PROMOTION: return PieceType.KNIGHT;
+			case BISHOP_PROMOTION: return PieceType.BISHOP;
+			case ROOK_PROMOTION: return PieceType.ROOK;
+			default: return PieceType.QUEEN;
+		}
+	}
+
+	public static String moveToString(final int move) {
+		final String text = BoardUtils.getPositionAtCoordinate(getCurrentCoordinate(move)) +
+							BoardUtils.getPositionAtCoordinate(getDestinationCoordinate(move));
+
+		return isPromotion(move) ? text + promotionPieceType(getMoveFlag(move)) : text;
+	}
+
+	/**
+	 * Applies a legal move, as produced by the move generation or accepted
+	 * by isLegal.
+	 */
+	public void makeMove(final int move) {
+		final int currentCoordinate = getCurrentCoordinate(move);
+		final int destinationCoordinate = getDestinationCoordinate(move);
+		final int moveFlag = getMoveFlag(move);
+		final int movedPieceIndex = getMovedPiece(move);
+		final int capturedPieceIndex = getCapturedPiece(move);
+
+		moveHistory[historySize] = move;
+		castlingRightsHistory[historySize] = castlingRights;
+		enPassantHistory[historySize] = enPassantCoordinate;
+		castledHistory[historySize] = castledFlags;
+		keyHistory[historySize] = zobristKey;
+		historySize++;
+
+		zobristKey ^= Zobrist.castlingKey(castlingRights) ^ Zobrist.enPassantKey(bitBoard, ALLIANCES[moveMaker], enPassantCoordinate);
+
+		if(capturedPieceIndex != BitBoard.NO_PIECE) {
+			removePiece(capturedPieceIndex, moveFlag == EN_PASSANT ? enPassantCaptureCoordinate(destinationCoordinate) : destinationCoordinate);
+		}
+
+		removePiece(movedPieceIndex, currentCoordinate);
+		setPiece(isPromotion(move) ? BitBoard.pieceIndex(ALLIANCES[moveMaker], promotionPieceType(moveFlag)) : movedPieceIndex,
+				 destinationCoordinate);
+
+		if(moveFlag == KING_SIDE_CASTLE) {
+			moveCastleRook(destinationCoordinate + 1, destinationCoordinate - 1);
+		} else if(moveFlag == QUEEN_SIDE_CASTLE) {
+			moveCastleRook(destinationCoordinate - 2, destinationCoordinate + 1);
+		}
+
+		if(BitBoard.pieceTypeOf(movedPieceIndex).isKing()) {
+			castledFlags = isCastle(moveFlag) ? castledFlags | (1 << moveMaker) : castledFlags & ~(1 << moveMaker);
+		}
+
+		castlingRights &= CASTLING_RIGHTS_MASK[currentCoordinate] & CASTLING_RIGHTS_MASK[destinationCoordinate];
+		enPassantCoordinate = moveFlag == PAWN_JUMP ? (currentCoordinate + destinationCoordinate) / 2 : NO_EN_PASSANT;
+		moveMaker ^= 1;
+		zobristKey ^= Zobrist.castlingKey(castlingRights) ^ Zobrist.enPassantKey(bitBoard, ALLIANCES[moveMaker], enPassantCoordinate) ^
+					  Zobrist.sideToMoveKey();
+	}
+
+	public void unmakeMove() {
+		historySize--;
+
+		final int move = moveHistory[historySize];
+		final int currentCoordinate = getCurrentCoordinate(move);
+		final int destinationCoordinate = getDestinationCoordinate(move);
+		final int moveFlag = getMoveFlag(move);
+		final int capturedPieceIndex = getCapturedPiece(move);
+
+		moveMaker ^= 1;
+
+		//the pieces go back through setPiece and removePiece to restore their scores and the pawn key, the key is restored below
+		final int placedPieceIndex = bitBoard.getPieceIndex(destinationCoordinate);
+		removePiece(placedPieceIndex, destinationCoordinate);
+		setPiece(isPromotion(move) ? BitBoard.pieceIndex(ALLIANCES[moveMaker], PieceType.PAWN) : placedPieceIndex,
+				 currentCoordinate);
+
+		if(moveFlag == KING_SIDE_CASTLE) {
+			moveCastleRook(destinationCoordinate - 1, destinationCoordinate + 1);
+		} else if(moveFlag == QUEEN_SIDE_CASTLE) {
+			moveCastleRook(destinationCoordinate + 1, destinationCoordinate - 2);
+		}
+
+		if(capturedPieceIndex != BitBoard.NO_PIECE) {
+			setPiece(capturedPieceIndex, moveFlag == EN_PASSANT ? enPassantCaptureCoordinate(destinationCoordinate) : destinationCoordinate);
+		}
+
+		castlingRights = castlingRightsHistory[historySize];
+		enPassantCoordinate = enPassantHistory[historySize];
+		castledFlags = castledHistory[historySize];
+		zobristKey = keyHistory[historySize];
+	}
+
+	private void moveCastleRook(final int rookCoordinate,
+								final int rookDestination) {
+		final int rookIndex = bitBoard.getPieceIndex(rookCoordinate);
+		removePiece(rookIndex, rookCoordinate);
+		setPiece(rookIndex, rookDestination);
+	}
+
+	private void setPiece(final int pieceIndex,
+						  final int coordinate) {
+		bitBoard.setPiece(pieceIndex, coordinate);
+		zobristKey ^= Zobrist.pieceKey(pieceIndex, coordinate);
+		pawnKey ^= Zobrist.pawnKey(pieceIndex, coordinate);
+		pieceSquareScores[pieceIndex / BitBoard.NUM_PIECE_TYPES] += PieceSquareTable.score(pieceIndex, coordinate);
+		phase += PieceSquareTable.phase(pieceIndex);
+	}
+
+	private void removePiece(final int pieceIndex,
+							 final int coordinate) {
+		bitBoard.removePiece(pieceIndex, coordinate);
+		zobristKey ^= Zobrist.pieceKey(pieceIndex, coordinate);
+		pawnKey ^= Zobrist.pawnKey(pieceIndex, coordinate);
+		pieceSquareScores[pieceIndex / BitBoard.NUM_PIECE_TYPES] -= PieceSquareTable.score(pieceIndex, coordinate);
+		phase -= PieceSquareTable.phase(pieceIndex);
+	}
+
+	private int enPassantCaptureCoordinate(final int destinationCoordinate) {
+		//the captured pawn stands behind the destination, seen from the capturing side
+		return destinationCoordinate - ALLIANCES[moveMaker].getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+	}
+
+	public int generateMoves(final int[] moves) {
+		return generateMoves(ALLIANCES[moveMaker], moves);
+	}
+
+	/**
+	 * Generates the legal moves of the given alliance, including castling
+	 * moves whose path is not attacked.
+	 */
+	public int generateMoves(final Alliance alliance,
+							 final int[] moves) {
+		updateLegalityMasks(alliance, true);
+
+		return generateAllMoves(alliance, moves);
+	}
+
+	private int generateAllMoves(final Alliance alliance,
+								 final int[] moves) {
+		final int count = generatePieceMoves(alliance, moves, generatePawnMoves(alliance, moves, 0, true, true),
+											 ~bitBoard.getAlliancePieces(alliance));
+
+		return generateCastleMoves(alliance, moves, count);
+	}
+
+	/**
+	 * Generates the legal captures and promotions of the side to move, the
+	 * moves the quiescence search looks at.
+	 */
+	public int generateCaptures(final int[] moves) {
+		final Alliance alliance = ALLIANCES[moveMaker];
+		updateLegalityMasks(alliance, true);
+
+		return generatePieceMoves(alliance, moves, generatePawnMoves(alliance, moves, 0, true, false),
+								  bitBoard.getAlliancePieces(alliance.getOpponent()));
+	}
+
+	/**
+	 * Generates the legal moves of the side to move that neither capture
+	 * nor promote, so together with generateCaptures every move of
+	 * generateMoves is produced exactly once.
+	 */
+	public int generateQuiets(final int[] moves) {
+		return generateQuiets(moves, 0);
+	}
+
+	/**
+	 * Generates the quiet moves behind the first count moves and returns
+	 * the new number of moves.
+	 */
+	public int generateQuiets(final int[] moves,
+							  final int count) {
+		final Alliance alliance = ALLIANCES[moveMaker];
+		updateLegalityMasks(alliance, true);
+
+		final int quietCount = generatePieceMoves(alliance, moves, generatePawnMoves(alliance, moves, count, false, true),
+												  bitBoard.getEmpty());
+
+		return generateCastleMoves(alliance, moves, quietCount);
+	}
+
+	/**
+	 * Resolves the checks and pins of the alliance before its moves are
+	 * generated. In check by one piece the other pieces have to capture it
+	 * or block its line, in double check only the king may move. A pinned
+	 * piece may only move along the line through its king.
+	 */
+	private void updateLegalityMasks(final Alliance alliance,
+									 final boolean isLegal) {
+		isLegalOnly = isLegal;
+
+		if(!isLegal) {
+			checkMask = ~0L;
+			pinnedPieces = 0L;
+			return;
+		}
+
+		final int kingCoordinate = bitBoard.getKingPosition(alliance);
+		final long checkers = bitBoard.getAttackers(kingCoordinate, alliance.getOpponent());
+
+		if(checkers == 0) {
+			checkMask = ~0L;
+		} else if((checkers & (checkers - 1)) == 0) {
+			checkMask = checkers | BitBoard.between(kingCoordinate, Long.numberOfTrailingZeros(checkers));
+		} else {
+			checkMask = 0L;
+		}
+
+		pinnedPieces = bitBoard.getPinnedPieces(alliance);
+	}
+
+	/**
+	 * Returns the tiles the piece on the coordinate may move to without
+	 * exposing its king.
+	 */
+	private long pinMask(final int kingCoordinate,
+						 final int coordinate) {
+		return (pinnedPieces & (1L << coordinate)) != 0 ? BitBoard.line(kingCoordinate, coordinate) : ~0L;
+	}
+
+	/**
+	 * Tells whether generateMoves would produce the move in this position.
+	 * Moves taken from the transposition table or the killer moves of a
+	 * sibling are checked with it before they are made.
+	 */
+	public boolean isLegal(final int move) {
+		final Alliance alliance = ALLIANCES[moveMaker];
+		final int currentCoordinate = getCurrentCoordinate(move);
+
+		final int movedPieceIndex = getMovedPiece(move);
+
+		if(move == NO_MOVE || bitBoard.getPieceIndex(currentCoordinate) != movedPieceIndex ||
+		   BitBoard.allianceOf(movedPieceIndex) != alliance) {
+			return false;
+		}
+
+		updateLegalityMasks(alliance, true);
+
+		final PieceType pieceType = BitBoard.pieceTypeOf(movedPieceIndex);
+
+		if(pieceType == PieceType.PAWN || isCastle(getMoveFlag(move))) {
+			final int numMoves = pieceType == PieceType.PAWN ?
+								 generatePawnMoves(alliance, scratchMoves, 0, true, true) :
+								 generateCastleMoves(alliance, scratchMoves, 0);
+
+			for (int i = 0; i < numMoves; i++) {
+				if(scratchMoves[i] == move) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		final int destinationCoordinate = getDestinationCoordinate(move);
+		final long destination = 1L << destinationCoordinate;
+
+		if(getMoveFlag(move) != QUIET_MOVE || bitBoard.getPieceIndex(destinationCoordinate) != getCapturedPiece(move) ||
+		   (bitBoard.getAttacks(currentCoordinate) & ~bitBoard.getAlliancePieces(alliance) & destination) == 0) {
+			return false;
+		}
+
+		if(pieceType == PieceType.KING) {
+			return isSafeKingTarget(alliance, currentCoordinate, destinationCoordinate);
+		}
+
+		return (checkMask & pinMask(bitBoard.getKingPosition(alliance), currentCoordinate) & destination) != 0;
+	}
+
+	private int generatePieceMoves(final Alliance alliance,
+								   final int[] moves,
+								   int count,
+								   final long targets) {
+		final long occupied = bitBoard.getOccupied();
+		final int kingCoordinate = bitBoard.getKingPosition(alliance);
+		final long pieceTargets = targets & checkMask;
+
+		//a pinned knight can never stay on the line of its pin
+		for (long knights = bitBoard.getPieces(alliance, PieceType.KNIGHT) & ~pinnedPieces; knights != 0; knights &= knights - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(knights);
+			count = addMoves(moves, count, coordinate, BitBoard.knightAttacksFrom(coordinate) & pieceTargets);
+		}
+
+		for (long bishops = bitBoard.getPieces(alliance, PieceType.BISHOP); bishops != 0; bishops &= bishops - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(bishops);
+			count = addMoves(moves, count, coordinate,
+							 MagicBitBoards.bishopAttacks(coordinate, occupied) & pieceTargets & pinMask(kingCoordinate, coordinate));
+		}
+
+		for (long rooks = bitBoard.getPieces(alliance, PieceType.ROOK); rooks != 0; rooks &= rooks - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(rooks);
+			count = addMoves(moves, count, coordinate,
+							 MagicBitBoards.rookAttacks(coordinate, occupied) & pieceTargets & pinMask(kingCoordinate, coordinate));
+		}
+
+		for (long queens = bitBoard.getPieces(alliance, PieceType.QUEEN); queens != 0; queens &= queens - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(queens);
+			count = addMoves(moves, count, coordinate,
+							 MagicBitBoards.queenAttacks(coordinate, occupied) & pieceTargets & pinMask(kingCoordinate, coordinate));
+		}
+
+		for (long kingTargets = BitBoard.kingAttacksFrom(kingCoordinate) & targets; kingTargets != 0; kingTargets &= kingTargets - 1) {
+			final int destination = Long.numberOfTrailingZeros(kingTargets);
+
+			if(isSafeKingTarget(alliance, kingCoordinate, destination)) {
+				moves[count++] = createMove(kingCoordinate, destination, QUIET_MOVE);
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Checks whether the king may step to the destination. The king is
+	 * taken off the occupancy, so a slider checking it along a line also
+	 * covers the tiles behind the king.
+	 */
+	private boolean isSafeKingTarget(final Alliance alliance,
+									 final int kingCoordinate,
+									 final int destination) {
+		return !isLegalOnly ||
+			   !bitBoard.isSquareAttacked(destination, alliance.getOpponent(), bitBoard.getOccupied() & ~(1L << kingCoordinate));
+	}
+
+	private int generatePawnMoves(final Alliance alliance,
+								  final int[] moves,
+								  int count,
+								  final boolean isTactical,
+								  final boolean isQuiet) {
+		final long pawns = bitBoard.getPieces(alliance, PieceType.PAWN);
+		final int kingCoordinate = bitBoard.getKingPosition(alliance);
+		count = generatePawnMoves(alliance, moves, count, pawns & ~pinnedPieces, checkMask, isTactical, isQuiet);
+
+		//pinned pawns one at a time, each restricted to the line of its pin
+		for (long pinnedPawns = pawns & pinnedPieces; pinnedPawns != 0; pinnedPawns &= pinnedPawns - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(pinnedPawns);
+			count = generatePawnMoves(alliance, moves, count, 1L << coordinate,
+									  checkMask & BitBoard.line(kingCoordinate, coordinate), isTactical, isQuiet);
+		}
+
+		return count;
+	}
+
+	private int generatePawnMoves(final Alliance alliance,
+								  final int[] moves,
+								  int count,
+								  final long pawns,
+								  final long targets,
+								  final boolean isTactical,
+								  final boolean isQuiet) {
+		final long empty = bitBoard.getEmpty();
+		final long enemies = bitBoard.getAlliancePieces(alliance.getOpponent());
+		final long enPassantTarget = enPassantCoordinate != NO_EN_PASSANT && alliance.ordinal() == moveMaker ? 1L << enPassantCoordinate : 0L;
+		final int forward = alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+		final long singlePushes;
+		final long pawnJumps;
+		final long leftCaptures;
+		final long rightCaptures;
+
+		if(alliance.isWhite()) {
+			singlePushes = (pawns >>> 8) & empty;
+			pawnJumps = ((singlePushes & BitBoard.THIRD_RANK) >>> 8) & empty;
+			leftCaptures = (pawns >>> 9) & ~BitBoard.EIGHTH_COLUMN;
+			rightCaptures = (pawns >>> 7) & ~BitBoard.FIRST_COLUMN;
+		} else {
+			singlePushes = (pawns << 8) & empty;
+			pawnJumps = ((singlePushes & BitBoard.SIXTH_RANK) << 8) & empty;
+			leftCaptures = (pawns << 7) & ~BitBoard.EIGHTH_COLUMN;
+			rightCaptures = (pawns << 9) & ~BitBoard.FIRST_COLUMN;
+		}
+
+		//pushes to the last rank are promotions and count as tactical moves
+		final long promotionRanks = BitBoard.EIGHTH_RANK | BitBoard.FIRST_RANK;
+		final long pushes = singlePushes & targets & ((isTactical ? promotionRanks : 0L) | (isQuiet ? ~promotionRanks : 0L));
+		count = addPawnMoves(moves, count, pushes, forward);
+
+		if(isTactical) {
+			count = addPawnMoves(moves, count, leftCaptures & enemies & targets, forward - 1);
+			count = addPawnMoves(moves, count, rightCaptures & enemies & targets, forward + 1);
+		}
+
+		for (long jumps = isQuiet ? pawnJumps & targets : 0L; jumps != 0; jumps &= jumps - 1) {
+			final int destination = Long.numberOfTrailingZeros(jumps);
+			moves[count++] = createMove(destination - 2 * forward, destination, PAWN_JUMP);
+		}
+
+		final int pawnIndex = BitBoard.pieceIndex(alliance, PieceType.PAWN);
+		final int capturedPawnIndex = BitBoard.pieceIndex(alliance.getOpponent(), PieceType.PAWN);
+
+		if(isTactical && (leftCaptures & enPassantTarget) != 0) {
+			count = addEnPassantMove(moves, count, createMove(enPassantCoordinate - forward + 1, enPassantCoordinate, EN_PASSANT,
+															  pawnIndex, capturedPawnIndex));
+		}
+
+		if(isTactical && (rightCaptures & enPassantTarget) != 0) {
+			count = addEnPassantMove(moves, count, createMove(enPassantCoordinate - forward - 1, enPassantCoordinate, EN_PASSANT,
+															  pawnIndex, capturedPawnIndex));
+		}
+
+		return count;
+	}
+
+	/**
+	 * Adds an en passant capture if it does not expose the king. It takes
+	 * two pawns off one rank at once, which the pin masks do not cover, so
+	 * it is made and taken back to find out. It is rare enough not to
+	 * matter.
+	 */
+	private int addEnPassantMove(final int[] moves,
+								 int count,
+								 final int move) {
+		if(isLegalOnly) {
+			final Alliance alliance = ALLIANCES[moveMaker];
+			makeMove(move);
+			final boolean isExposed = isInCheck(alliance);
+			unmakeMove();
+
+			if(isExposed) {
+				return count;
+			}
+		}
+
+		moves[count++] = move;
+
+		return count;
+	}
+
+	private int addPawnMoves(final int[] moves,
+							 int count,
+							 final long destinations,
+							 final int offset) {
+		for (long targets = destinations; targets != 0; targets &= targets - 1) {
+			final int destination = Long.numberOfTrailingZeros(targets);
+			final int current = destination - offset;
+
+			if(((BitBoard.EIGHTH_RANK | BitBoard.FIRST_RANK) & (1L << destination)) != 0) {
+				moves[count++] = createMove(current, destination, QUEEN_PROMOTION);
+				moves[count++] = createMove(current, destination, ROOK_PROMOTION);
+				moves[count++] = createMove(current, destination, BISHOP_PROMOTION);
+				moves[count++] = createMove(current, destination, KNIGHT_PROMOTION);
+			} else {
+				moves[count++] = createMove(current, destination, QUIET_MOVE);
+			}
+		}
+
+		return count;
+	}
+
+	private int addMoves(final int[] moves,
+						 int count,
+						 final int currentCoordinate,
+						 final long destinations) {
+		for (long targets = destinations; targets != 0; targets &= targets - 1) {
+			moves[count++] = createMove(currentCoordinate, Long.numberOfTrailingZeros(targets), QUIET_MOVE);
+		}
+
+		return count;
+	}
+
+	private int generateCastleMoves(final Alliance alliance,
+									final int[] moves,
+									int count) {
+		final int kingCoordinate = alliance.isWhite() ? 60 : 4;
+		final int kingSideRight = alliance.isWhite() ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE;
+		final int queenSideRight = alliance.isWhite() ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE;
+
+		if((castlingRights & (kingSideRight | queenSideRight)) == 0) {
+			return count;
+		}
+
+		final int attacker = alliance.ordinal() ^ 1;
+		final long occupied = bitBoard.getOccupied();
+
+		if(isSquareAttacked(kingCoordinate, attacker)) {
+			return count;
+		}
+
+		if((castlingRights & kingSideRight) != 0 &&
+		   (occupied & ((1L << (kingCoordinate + 1)) | (1L << (kingCoordinate + 2)))) == 0 &&
+		   !isSquareAttacked(kingCoordinate + 1, attacker) &&
+		   !isSquareAttacked(kingCoordinate + 2, attacker)) {
+			moves[count++] = createMove(kingCoordinate, kingCoordinate + 2, KING_SIDE_CASTLE);
+		}
+
+		if((castlingRights & queenSideRight) != 0 &&
+		   (occupied & ((1L << (kingCoordinate - 1)) | (1L << (kingCoordinate - 2)) | (1L << (kingCoordinate - 3)))) == 0 &&
+		   !isSquareAttacked(kingCoordinate - 1, attacker) &&
+		   !isSquareAttacked(kingCoordinate - 2, attacker)) {
+			moves[count++] = createMove(kingCoordinate, kingCoordinate - 2, QUEEN_SIDE_CASTLE);
+		}
+
+		return count;
+	}
+
+	public boolean isSquareAttacked(final int coordinate,
+									final Alliance attacker) {
+		return isSquareAttacked(coordinate, attacker.ordinal());
+	}
+
+	private boolean isSquareAttacked(final int coordinate,
+									 final int attacker) {
+		return bitBoard.isSquareAttacked(coordinate, ALLIANCES[attacker]);
+	}
+
+	public boolean isInCheck(final Alliance alliance) {
+		return isSquareAttacked(bitBoard.getKingPosition(alliance), alliance.ordinal() ^ 1);
+	}
+
+	/**
+	 * Counts the pseudo legal moves of the given alliance, as used for
+	 * mobility by the evaluator. Pins and checks are ignored, so a piece
+	 * counts the tiles it controls.
+	 */
+	public int countMoves(final Alliance alliance) {
+		updateLegalityMasks(alliance, false);
+
+		return generateAllMoves(alliance, scratchMoves);
+	}
+
+	/**
+	 * Returns the move list of the current ply. Every node at the same
+	 * distance from the root reuses it, so a search allocates no move
+	 * lists. It is only valid until the node is left.
+	 */
+	public int[] getMoveBuffer() {
+		if(moveBuffers[historySize] == null) {
+			moveBuffers[historySize] = new int[MAX_MOVES];
+		}
+
+		return moveBuffers[historySize];
+	}
+
+	/**
+	 * Returns a list of the current ply for the sort keys of the moves in
+	 * the move buffer.
+	 */
+	public int[] getScoreBuffer() {
+		if(scoreBuffers[historySize] == null) {
+			scoreBuffers[historySize] = new int[MAX_MOVES];
+		}
+
+		return scoreBuffers[historySize];
+	}
+
+	public boolean hasLegalMoves() {
+		return hasLegalMoves(ALLIANCES[moveMaker]);
+	}
+
+	public boolean hasLegalMoves(final Alliance alliance) {
+		return generateMoves(alliance, scratchMoves) > 0;
+	}
+
+	/**
+	 * Static exchange evaluation: the material the side to move wins with
+	 * a capture or promotion if both sides go on capturing on the
+	 * destination, each with its least valuable attacker, and either side
+	 * may stop once going on would lose. Sliders behind a capturing piece
+	 * join in when it leaves. Pins and checks are ignored.
+	 */
+	public int staticExchange(final int move) {
+		final int destinationCoordinate = getDestinationCoordinate(move);
+		final int moveFlag = getMoveFlag(move);
+		final int capturedPieceIndex = getCapturedPiece(move);
+		long occupancy = bitBoard.getOccupied() ^ (1L << getCurrentCoordinate(move));
+		int attackerValue = BitBoard.pieceTypeOf(getMovedPiece(move)).getPieceValue();
+		Alliance side = ALLIANCES[moveMaker].getOpponent();
+		int depth = 0;
+
+		exchangeGains[0] = capturedPieceIndex == BitBoard.NO_PIECE ? 0 : BitBoard.pieceTypeOf(capturedPieceIndex).getPieceValue();
+
+		if(moveFlag == EN_PASSANT) {
+			occupancy ^= 1L << enPassantCaptureCoordinate(destinationCoordinate);
+		} else if(isPromotion(move)) {
+			final int promotionValue = promotionPieceType(moveFlag).getPieceValue();
+			exchangeGains[0] += promotionValue - attackerValue;
+			attackerValue = promotionValue;
+		}
+
+		final boolean isPromotionRow = destinationCoordinate < BoardUtils.NUM_TILES_PER_ROW ||
+									   destinationCoordinate >= BoardUtils.NUM_TILES - BoardUtils.NUM_TILES_PER_ROW;
+
+		while (true) {
+			depth++;
+			//what the side gains if it takes the piece that captured last
+			exchangeGains[depth] = attackerValue - exchangeGains[depth - 1];
+
+			final long attackers = bitBoard.getAttackers(destinationCoordinate, occupancy) & occupancy & bitBoard.getAlliancePieces(side);
+
+			if(attackers == 0) {
+				break;
+			}
+
+			//piece types are ordered by value, so the first one found is the cheapest
+			int pieceIndex = BitBoard.pieceIndex(side, PieceType.PAWN);
+
+			while ((bitBoard.getPieces(pieceIndex) & attackers) == 0) {
+				pieceIndex++;
+			}
+
+			attackerValue = BitBoard.pieceTypeOf(pieceIndex).getPieceValue();
+
+			//a pawn recapturing on the last row comes back as a queen
+			if(isPromotionRow && BitBoard.pieceTypeOf(pieceIndex) == PieceType.PAWN) {
+				exchangeGains[depth] += PieceType.QUEEN.getPieceValue() - attackerValue;
+				attackerValue = PieceType.QUEEN.getPieceValue();
+			}
+
+			if(Math.max(-exchangeGains[depth - 1], exchangeGains[depth]) < 0) {
+				break;
+			}
+
+			occupancy ^= Long.lowestOneBit(bitBoard.getPieces(pieceIndex) & attackers);
+			side = side.getOpponent();
+		}
+
+		//the last gain was only speculative, every side picks the better of capturing or stopping
+		while (--depth > 0) {
+			exchangeGains[depth - 1] = -Math.max(-exchangeGains[depth - 1], exchangeGains[depth]);
+		}
+
+		return exchangeGains[0];
+	}
+
+	@Override
+	public String toString() {
+		return bitBoard.toString();
+	}
+
+	private static boolean isCastle(final int moveFlag) {
+		return moveFlag == KING_SIDE_CASTLE || moveFlag == QUEEN_SIDE_CASTLE;
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public static int getCurrentCoordinate(final int move) { return move & COORDINATE_MASK; }
+	public static int getDestinationCoordinate(final int move) { return (move >>> DESTINATION_SHIFT) & COORDINATE_MASK; }
+	public static int getMoveFlag(final int move) { return (move >>> FLAG_SHIFT) & NIBBLE_MASK; }
+	public static int getMovedPiece(final int move) { return (move >>> MOVED_PIECE_SHIFT) & NIBBLE_MASK; }
+	public static int getCapturedPiece(final int move) { return ((move >>> CAPTURED_PIECE_SHIFT) & NIBBLE_MASK) - 1; }
+	public static boolean isPromotion(final int move) { return getMoveFlag(move) >= KNIGHT_PROMOTION; }
+	public static boolean isCapture(final int move) { return getCapturedPiece(move) != BitBoard.NO_PIECE; }
+	public BitBoard getBitBoard() { return bitBoard; }
+	public Alliance getMoveMaker() { return ALLIANCES[moveMaker]; }
+	public int getCastlingRights() { return castlingRights; }
+	public int getEnPassantCoordinate() { return enPassantCoordinate; }
+	public long getZobristKey() { return zobristKey; }
+	public long getPawnKey() { return pawnKey; }
+	public int getPieceSquareScore(final Alliance alliance) { return pieceSquareScores[alliance.ordinal()]; }
+	public int getPhase() { return phase; }
+	public boolean isCastled(final Alliance alliance) { return (castledFlags & (1 << alliance.ordinal())) != 0; }
+	public int getCastledFlags() { return castledFlags; }
+	public boolean isInCheck() { return isInCheck(ALLIANCES[moveMaker]); }
+}
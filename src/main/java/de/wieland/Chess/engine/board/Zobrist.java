@@ -0,0 +1,127 @@
+package de.wieland.Chess.engine.board;
+
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.pieces.PieceType;
+
+/**
+ * Public final class Zobrist.
+ *
+ * Random 64-bit keys for every piece on every tile, the side to move, each
+ * castling rights combination and each en passant column. A position key
+ * is the xor of the keys of its features, so making a move only has to xor
+ * out what changed. The keys are generated from a fixed seed and therefore
+ * stay the same between runs. The pawn key of a position only covers its
+ * pawns, so positions with the same pawns share it.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class Zobrist {
+	private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+	private static final int NUM_CASTLING_RIGHTS = 16;
+
+	private static final long[][] PIECE_KEYS = new long[BitBoard.NUM_PIECE_INDICES][BoardUtils.NUM_TILES];
+	private static final long[][] PAWN_KEYS = new long[BitBoard.NUM_PIECE_INDICES][BoardUtils.NUM_TILES];
+	private static final long[] CASTLING_KEYS = new long[NUM_CASTLING_RIGHTS];
+	private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+	private static final long BLACK_TO_MOVE_KEY;
+
+	static {
+		final long[] randomState = {ZOBRIST_SEED};
+
+		for (int pieceIndex = 0; pieceIndex < BitBoard.NUM_PIECE_INDICES; pieceIndex++) {
+			for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+				PIECE_KEYS[pieceIndex][coordinate] = nextRandom(randomState);
+			}
+		}
+
+		//zero for every other piece, so the pawn key can be updated without asking for the piece type
+		for (final Alliance alliance : Alliance.values()) {
+			final int pawnIndex = BitBoard.pieceIndex(alliance, PieceType.PAWN);
+			PAWN_KEYS[pawnIndex] = PIECE_KEYS[pawnIndex].clone();
+		}
+
+		//no castling rights hash to zero, so a bare position needs no castling key
+		for (int castlingRights = 1; castlingRights < NUM_CASTLING_RIGHTS; castlingRights++) {
+			CASTLING_KEYS[castlingRights] = nextRandom(randomState);
+		}
+
+		for (int column = 0; column < BoardUtils.NUM_TILES_PER_ROW; column++) {
+			EN_PASSANT_KEYS[column] = nextRandom(randomState);
+		}
+
+		BLACK_TO_MOVE_KEY = nextRandom(randomState);
+	}
+
+	private Zobrist() {
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+	/**
+	 * Computes the key of a position from scratch.
+	 */
+	public static long calculateKey(final BitBoard bitBoard,
+									final Alliance moveMaker,
+									final int castlingRights,
+									final int enPassantCoordinate) {
+		long key = 0;
+
+		for (long pieces = bitBoard.getOccupied(); pieces != 0; pieces &= pieces - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(pieces);
+			key ^= PIECE_KEYS[bitBoard.getPieceIndex(coordinate)][coordinate];
+		}
+
+		return key ^ castlingKey(castlingRights) ^ enPassantKey(bitBoard, moveMaker, enPassantCoordinate) ^ sideKey(moveMaker);
+	}
+
+	/**
+	 * Computes the pawn key of a position from scratch.
+	 */
+	public static long calculatePawnKey(final BitBoard bitBoard) {
+		long key = 0;
+
+		for (final Alliance alliance : Alliance.values()) {
+			final int pawnIndex = BitBoard.pieceIndex(alliance, PieceType.PAWN);
+
+			for (long pawns = bitBoard.getPieces(pawnIndex); pawns != 0; pawns &= pawns - 1) {
+				key ^= PAWN_KEYS[pawnIndex][Long.numberOfTrailingZeros(pawns)];
+			}
+		}
+
+		return key;
+	}
+
+	/**
+	 * Returns the key of the en passant tile, or zero if no pawn of the
+	 * moving side could capture there. Positions that only differ by an
+	 * unusable en passant tile are the same position and share a key.
+	 */
+	public static long enPassantKey(final BitBoard bitBoard,
+									final Alliance moveMaker,
+									final int enPassantCoordinate) {
+		if(enPassantCoordinate == SearchBoard.NO_EN_PASSANT ||
+		   (BitBoard.pawnAttacksFrom(moveMaker.getOpponent(), enPassantCoordinate) & bitBoard.getPieces(moveMaker, PieceType.PAWN)) == 0) {
+			return 0;
+		}
+
+		return EN_PASSANT_KEYS[enPassantCoordinate % BoardUtils.NUM_TILES_PER_ROW];
+	}
+
+	private static long nextRandom(final long[] randomState) {
+		//splitmix64
+		long z = (randomState[0] += 0x9E3779B97F4A7C15L);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public static long pieceKey(final int pieceIndex, final int coordinate) { return PIECE_KEYS[pieceIndex][coordinate]; }
+	public static long pawnKey(final int pieceIndex, final int coordinate) { return PAWN_KEYS[pieceIndex][coordinate]; }
+	public static long castlingKey(final int castlingRights) { return CASTLING_KEYS[castlingRights]; }
+	public static long sideKey(final Alliance moveMaker) { return moveMaker.isBlack() ? BLACK_TO_MOVE_KEY : 0; }
+	public static long sideToMoveKey() { return BLACK_TO_MOVE_KEY; }
+}
@@ -7,10 +7,9 @@ import java.util.List;
 import com.google.common.collect.ImmutableList;
 
 import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.board.BitBoard;
 import de.wieland.Chess.engine.board.Board;
-import de.wieland.Chess.engine.board.BoardUtils;
 import de.wieland.Chess.engine.board.Move;
-import de.wieland.Chess.engine.board.Tile;
 import de.wieland.Chess.engine.board.Move.MajorAttackMove;
 import de.wieland.Chess.engine.board.Move.MajorMove;
 
@@ -22,8 +21,6 @@ import de.wieland.Chess.engine.board.Move.MajorMove;
  * @date 10.09.2021
  */
 public class King extends Piece {
-	private static final int[] CANDIDATE_MOVE_COORDINATES = {-9, -8, -7, -1, 1, 7, 8, 9};
-	
 	private final boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
@@ -54,26 +51,17 @@ public class King extends Piece {
 	public Collection<Move> calculateLegalMoves(final Board board) {
 		final List<Move> legalMoves = new ArrayList<>();
 		
-		for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-			final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-			
-			if(isFirstColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-			   isEighthColumnExclusion(this.piecePosition, currentCandidateOffset)) {
-				continue;
-			}
+		for (long targets = BitBoard.kingAttacksFrom(this.piecePosition); targets != 0; targets &= targets - 1) {
+			final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(targets);
 			
-			if(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-				final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
+			if(!board.isTileOccupied(candidateDestinationCoordinate)) {
+				legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+			} else {
+				final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+				final Alliance pieceAlliance = pieceAtDestination.pieceAlliance;
 				
-				if(!candidateDestinationTile.isTileOccupied()) {
-					legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-				} else {
-					final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-					final Alliance pieceAlliance = pieceAtDestination.pieceAlliance;
-					
-					if (this.pieceAlliance != pieceAlliance) {
-						legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-					}
+				if (this.pieceAlliance != pieceAlliance) {
+					legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
 				}
 			}
 		}
@@ -120,16 +108,6 @@ public class King extends Piece {
 		return (31 * super.hashCode()) + (isCastled ? 1 : 0);
 	}
 	
-	private static boolean isFirstColumnExclusion(final int currentPosition,
-												  final int candidateOffset) {
-		return BoardUtils.FIRST_COLUMN[currentPosition] && ((candidateOffset == -9) || (candidateOffset == -1) || (candidateOffset == 7));
-	}
-	
-	private static boolean isEighthColumnExclusion(final int currentPosition,
-												   final int candidateOffset) {
-		return BoardUtils.EIGHTH_COLUMN[currentPosition] && ((candidateOffset == -7) || (candidateOffset == 1) || (candidateOffset == 9));
-	}
-	
 	/**
 	 * Getter and Setter methods.
 	 */
@@ -7,12 +7,11 @@ import java.util.List;
 import com.google.common.collect.ImmutableList;
 
 import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.board.BitBoard;
 import de.wieland.Chess.engine.board.Board;
-import de.wieland.Chess.engine.board.BoardUtils;
 import de.wieland.Chess.engine.board.Move;
 import de.wieland.Chess.engine.board.Move.MajorAttackMove;
 import de.wieland.Chess.engine.board.Move.MajorMove;
-import de.wieland.Chess.engine.board.Tile;
 
 /**
  * Public class Knight.
@@ -22,8 +21,6 @@ import de.wieland.Chess.engine.board.Tile;
  * @date 10.09.2021
  */
 public class Knight extends Piece {
-	private static final int[] CANDIDATE_MOVE_COORDINATES = {-17, -15, -10, -6, 6, 10, 15, 17};
-
 	public Knight(final Alliance pieceAlliance,
 				  final int piecePosition) {
 		super(PieceType.KNIGHT, piecePosition, pieceAlliance, true);
@@ -39,28 +36,17 @@ public class Knight extends Piece {
 	public Collection<Move> calculateLegalMoves(final Board board) {
 		final List<Move> legalMoves = new ArrayList<>();
 		
-		for(final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-			final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
+		for (long targets = BitBoard.knightAttacksFrom(this.piecePosition); targets != 0; targets &= targets - 1) {
+			final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(targets);
 			
-			if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-				if(isFirstColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-				   isSecondColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-				   isSeventhColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-				   isEighthColumnExclusion(this.piecePosition, currentCandidateOffset)) {
-					continue;
-				}
-				
-				final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
+			if(!board.isTileOccupied(candidateDestinationCoordinate)) {
+				legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+			} else {
+				final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+				final Alliance pieceAlliance = pieceAtDestination.pieceAlliance;
 				
-				if(!candidateDestinationTile.isTileOccupied()) {
-					legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-				} else {
-					final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-					final Alliance pieceAlliance = pieceAtDestination.pieceAlliance;
-					
-					if (this.pieceAlliance != pieceAlliance) {
-						legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-					}
+				if (this.pieceAlliance != pieceAlliance) {
+					legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
 				}
 			}
 		}
@@ -75,35 +61,11 @@ public class Knight extends Piece {
 	
 	@Override
 	public Knight movePiece(final Move move) {
-		return new Knight(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+		return new Knight(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
 	}
 	
 	@Override
 	public String toString() {
 		return pieceType.toString();
 	}
-	
-	private static boolean isFirstColumnExclusion(final int currentPosition,
-												  final int candidateOffset) {
-		return BoardUtils.FIRST_COLUMN[currentPosition] &&
-			   ((candidateOffset == -17) || (candidateOffset == -10) || (candidateOffset == 6) || (candidateOffset == 15));
-	}
-	
-	private static boolean isSecondColumnExclusion(final int currentPosition,
-												   final int candidateOffset) {
-		return BoardUtils.SECOND_COLUMN[currentPosition] &&
-			   ((candidateOffset == -10) || (candidateOffset == 6));
-	}
-	
-	private static boolean isSeventhColumnExclusion(final int currentPosition,
-													final int candidateOffset) {
-		return BoardUtils.SEVENTH_COLUMN[currentPosition] &&
-			   ((candidateOffset == -6) || (candidateOffset == 10));
-	}
-	
-	private static boolean isEighthColumnExclusion(final int currentPosition,
-												   final int candidateOffset) {
-		return BoardUtils.EIGHTH_COLUMN[currentPosition] &&
-			   ((candidateOffset == -15) || (candidateOffset == -6) || (candidateOffset == 10) || (candidateOffset == 17));
-	}
 }
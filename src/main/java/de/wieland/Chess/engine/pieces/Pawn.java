@@ -7,6 +7,7 @@ import java.util.List;
 import com.google.common.collect.ImmutableList;
 
 import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.board.BitBoard;
 import de.wieland.Chess.engine.board.Board;
 import de.wieland.Chess.engine.board.BoardUtils;
 import de.wieland.Chess.engine.board.Move;
@@ -24,7 +25,7 @@ import de.wieland.Chess.engine.board.Move.PawnEnPassantAttackMove;
  * @date 10.09.2021
  */
 public class Pawn extends Piece {
-	private static final int[] CANDIDATE_MOVE_COORDINATES = {7, 8, 9, 16};
+	private static final int[] CANDIDATE_MOVE_COORDINATES = {8, 16};
 
 	public Pawn(final Alliance pieceAlliance,
 				final int piecePosition) {
@@ -48,7 +49,7 @@ public class Pawn extends Piece {
 				continue;
 			}
 			
-			if(currentCandidateOffset == 8 && !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
+			if(currentCandidateOffset == 8 && !board.isTileOccupied(candidateDestinationCoordinate)) {
 				if(pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
 					legalMoves.add(new PawnPromotion(
 							new PawnMove(board, this, candidateDestinationCoordinate), new Queen(pieceAlliance, candidateDestinationCoordinate, false)));
@@ -66,66 +67,40 @@ public class Pawn extends Piece {
 					 (BoardUtils.SECOND_RANK[this.piecePosition] && this.pieceAlliance.isWhite()))) {
 				final int behindCandidateDestinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
 				
-				if(!board.getTile(behindCandidateDestinationCoordinate).isTileOccupied() &&
-				   !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
+				if(!board.isTileOccupied(behindCandidateDestinationCoordinate) &&
+				   !board.isTileOccupied(candidateDestinationCoordinate)) {
 					legalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
 				}
-			} else if((currentCandidateOffset == 7) &&
-					  !((BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()) ||
-						(BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()))) {
-				if(board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-					final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-					
-					if(this.pieceAlliance != pieceOnCandidate.pieceAlliance) {
-						if(pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-							legalMoves.add(new PawnPromotion(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Queen(pieceAlliance, candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Rook(pieceAlliance, candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Bishop(pieceAlliance, candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Knight(pieceAlliance, candidateDestinationCoordinate, false)));
-						} else {
-							legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-						}						
-					}
-				} else if(board.getEnPassantPawn() != null) {
-					if(board.getEnPassantPawn().getPiecePosition() == (piecePosition + (this.pieceAlliance.getOppositeDirection()))) {
-						final Piece pieceOnCandidate = board.getEnPassantPawn();
-						
-						if(this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-							legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-						}
+			}
+		}
+		
+		for (long attacks = BitBoard.pawnAttacksFrom(pieceAlliance, piecePosition); attacks != 0; attacks &= attacks - 1) {
+			final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(attacks);
+			
+			if(board.isTileOccupied(candidateDestinationCoordinate)) {
+				final Piece pieceOnCandidate = board.getPiece(candidateDestinationCoordinate);
+				
+				if(this.pieceAlliance != pieceOnCandidate.pieceAlliance) {
+					if(pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
+						legalMoves.add(new PawnPromotion(
+								new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Queen(pieceAlliance, candidateDestinationCoordinate, false)));
+						legalMoves.add(new PawnPromotion(
+								new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Rook(pieceAlliance, candidateDestinationCoordinate, false)));
+						legalMoves.add(new PawnPromotion(
+								new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Bishop(pieceAlliance, candidateDestinationCoordinate, false)));
+						legalMoves.add(new PawnPromotion(
+								new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Knight(pieceAlliance, candidateDestinationCoordinate, false)));
+					} else {
+						legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
 					}
 				}
-			} else if((currentCandidateOffset == 9) &&
-					  !((BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()) ||
-						(BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-				if(board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-					final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-					
-					if(this.pieceAlliance != pieceOnCandidate.pieceAlliance) {
-						if(pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-							legalMoves.add(new PawnPromotion(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Queen(pieceAlliance, candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Rook(pieceAlliance, candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Bishop(pieceAlliance, candidateDestinationCoordinate, false)));
-							legalMoves.add(new PawnPromotion(
-									new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate), new Knight(pieceAlliance, candidateDestinationCoordinate, false)));
-						} else {
-							legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-						}					}
-				} else if(board.getEnPassantPawn() != null) {
-					if(board.getEnPassantPawn().getPiecePosition() == (piecePosition - (this.pieceAlliance.getOppositeDirection()))) {
-						final Piece pieceOnCandidate = board.getEnPassantPawn();
-						
-						if(this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-							legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-						}
-					}
+			} else if(board.getEnPassantPawn() != null) {
+				final Piece pieceOnCandidate = board.getEnPassantPawn();
+				
+				//the pawn that jumped stands beside this one, right behind the destination
+				if(pieceOnCandidate.getPiecePosition() == candidateDestinationCoordinate - pieceAlliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW &&
+				   this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
+					legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
 				}
 			}
 		}
@@ -140,7 +115,7 @@ public class Pawn extends Piece {
 	
 	@Override
 	public Pawn movePiece(final Move move) {
-		return new Pawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+		return new Pawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
 	}
 	
 	@Override
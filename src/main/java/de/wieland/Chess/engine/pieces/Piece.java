@@ -1,10 +1,16 @@
 package de.wieland.Chess.engine.pieces;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 
 import de.wieland.Chess.engine.Alliance;
 import de.wieland.Chess.engine.board.Board;
 import de.wieland.Chess.engine.board.Move;
+import de.wieland.Chess.engine.board.Move.MajorAttackMove;
+import de.wieland.Chess.engine.board.Move.MajorMove;
 
 /**
  * Public abstract class Piece.
@@ -60,6 +66,23 @@ public abstract class Piece {
 		return result;
 	}
 
+	protected Collection<Move> calculateMovesFromAttacks(final Board board,
+														final long attacks) {
+		final List<Move> legalMoves = new ArrayList<>();
+		
+		for (long targets = attacks & ~board.getBitBoard().getAlliancePieces(pieceAlliance); targets != 0; targets &= targets - 1) {
+			final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(targets);
+			
+			if(!board.isTileOccupied(candidateDestinationCoordinate)) {
+				legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+			} else {
+				legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, board.getPiece(candidateDestinationCoordinate)));
+			}
+		}
+		
+		return ImmutableList.copyOf(legalMoves);
+	}
+
 	/**
 	 * Abstract methods.
 	 */
@@ -10,7 +10,6 @@ import de.wieland.Chess.engine.Alliance;
 import de.wieland.Chess.engine.board.Board;
 import de.wieland.Chess.engine.board.Move;
 import de.wieland.Chess.engine.board.Move.*;
-import de.wieland.Chess.engine.board.Tile;
 import de.wieland.Chess.engine.pieces.Piece;
 import de.wieland.Chess.engine.pieces.Rook;
 
@@ -23,36 +22,33 @@ import de.wieland.Chess.engine.pieces.Rook;
  */
 public class BlackPlayer extends Player {
 
-	public BlackPlayer(final Board board,
-					   final Collection<Move> whiteStandardLegalMoves,
-					   final Collection<Move> blackStandardLegalMoves) {
-		super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+	public BlackPlayer(final Board board) {
+		super(board);
 	}
 	
 	@Override
-	public Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-												 final Collection<Move> opponentLegals) {
+	public Collection<Move> calculateKingCastles() {
 		final List<Move> kingCastles = new ArrayList<>();
 		
 		if(playerKing.isFirstMove() && !isInCheck()) {
 			//blacks king side castle
-			if(!board.getTile(5).isTileOccupied() && !board.getTile(6).isTileOccupied()) {
-				final Tile rookTile = board.getTile(7);
+			if(!board.isTileOccupied(5) && !board.isTileOccupied(6)) {
+				final Piece rookPiece = board.getPiece(7);
 				
-				if(rookTile.isTileOccupied() && rookTile.getPiece().getPieceType().isRook() && rookTile.getPiece().isFirstMove()) {
-					if(calculateAttacksOnTile(5, opponentLegals).isEmpty() && calculateAttacksOnTile(6, opponentLegals).isEmpty()) {
-						kingCastles.add(new KingSideCastleMove(board, playerKing, 6, (Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 5));
+				if(rookPiece != null && rookPiece.getPieceType().isRook() && rookPiece.isFirstMove()) {
+					if(!isTileAttacked(5) && !isTileAttacked(6)) {
+						kingCastles.add(new KingSideCastleMove(board, playerKing, 6, (Rook)rookPiece, rookPiece.getPiecePosition(), 5));
 					}
 				}
 			}
 			
 			//blacks queen side castle
-			if(!board.getTile(3).isTileOccupied() && !board.getTile(2).isTileOccupied() && !board.getTile(1).isTileOccupied()) {
-				final Tile rookTile = board.getTile(0);
+			if(!board.isTileOccupied(3) && !board.isTileOccupied(2) && !board.isTileOccupied(1)) {
+				final Piece rookPiece = board.getPiece(0);
 				
-				if(rookTile.isTileOccupied() && rookTile.getPiece().getPieceType().isRook() && rookTile.getPiece().isFirstMove()) {
-					if(calculateAttacksOnTile(3, opponentLegals).isEmpty() && calculateAttacksOnTile(2, opponentLegals).isEmpty() && calculateAttacksOnTile(1, opponentLegals).isEmpty()) {
-						kingCastles.add(new QueenSideCastleMove(board, playerKing, 2, (Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 3));
+				if(rookPiece != null && rookPiece.getPieceType().isRook() && rookPiece.isFirstMove()) {
+					if(!isTileAttacked(3) && !isTileAttacked(2)) {
+						kingCastles.add(new QueenSideCastleMove(board, playerKing, 2, (Rook)rookPiece, rookPiece.getPiecePosition(), 3));
 					}
 				}
 			}
@@ -12,12 +12,19 @@ import de.wieland.Chess.engine.board.Board;
 import de.wieland.Chess.engine.board.Move;
 import de.wieland.Chess.engine.board.MoveStatus;
 import de.wieland.Chess.engine.board.MoveTransition;
+import de.wieland.Chess.engine.board.SearchBoard;
 import de.wieland.Chess.engine.pieces.King;
 import de.wieland.Chess.engine.pieces.Piece;
+import de.wieland.Chess.engine.pieces.PieceType;
 
 /**
  * Public abstract class Player.
  * 
+ * The legal moves, the castling moves among them and whether the king is
+ * in check are calculated on first access and kept afterwards. Most
+ * boards are only evaluated or tested for check, and never need the moves
+ * of both sides.
+ * 
  * @author Moritz Wieland
  * @version 1.0
  * @date 10.09.2021
@@ -25,38 +32,58 @@ import de.wieland.Chess.engine.pieces.Piece;
 public abstract class Player {
 	protected final Board board;
 	protected final King playerKing;
-	protected final Collection<Move> legalMoves;
-	private boolean isInCheck;
+	//null until first asked for, a racing thread only calculates the same value again
+	private Collection<Move> legalMoves;
+	private Boolean isInCheck;
+	private Boolean hasEscapeMoves;
 	
-	Player(final Board board,
-		   final Collection<Move> legalMoves,
-		   final Collection<Move> opponentLegalMoves) {
+	Player(final Board board) {
 		this.board = board;
 		this.playerKing = establishKing();
-		this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentLegalMoves)));
-		isInCheck = !calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegalMoves).isEmpty();
 	}
 
 	private King establishKing() {
-		for (final Piece piece : getActivePieces()) {
-			if(piece.getPieceType().isKing()) {
-				return (King) piece;
-			}
+		final long kingBitBoard = board.getBitBoard().getPieces(getAlliance(), PieceType.KING);
+		
+		if(kingBitBoard != 0) {
+			return (King) board.getPiece(Long.numberOfTrailingZeros(kingBitBoard));
 		}
 		
 		throw new RuntimeException("Should not reach here! Not a valid board!");
 	}
 	
-	protected static Collection<Move> calculateAttacksOnTile(final int piecePosition, final Collection<Move> opponentMoves) {
-		final List<Move> attackMoves = new ArrayList<>();
+	/**
+	 * Checks whether the opponent attacks the tile, probed on the bitboard
+	 * without looking at any moves.
+	 */
+	protected boolean isTileAttacked(final int tile) {
+		return board.getBitBoard().isSquareAttacked(tile, getAlliance().getOpponent());
+	}
+	
+	private Collection<Move> calculateLegalMoves() {
+		final List<Move> standardLegalMoves = new ArrayList<>();
 		
-		for (final Move move : opponentMoves) {
-			if(piecePosition == move.getDestinationCoordinate()) {
-				attackMoves.add(move);
-			}
+		for (final Piece piece : getActivePieces()) {
+			standardLegalMoves.addAll(piece.calculateLegalMoves(board));
 		}
 		
-		return ImmutableList.copyOf(attackMoves);
+		return ImmutableList.copyOf(Iterables.concat(standardLegalMoves, calculateKingCastles()));
+	}
+	
+	public Collection<Move> getLegalMoves() {
+		if(legalMoves == null) {
+			legalMoves = calculateLegalMoves();
+		}
+		
+		return legalMoves;
+	}
+	
+	public boolean isInCheck() {
+		if(isInCheck == null) {
+			isInCheck = isTileAttacked(playerKing.getPiecePosition());
+		}
+		
+		return isInCheck;
 	}
 	
 	public MoveTransition makeMove(final Move move) {
@@ -66,10 +93,7 @@ public abstract class Player {
 		
 		final Board transitionBoard = move.execute();
 		
-		final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.getCurrentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-																		   transitionBoard.getCurrentPlayer().getLegalMoves());
-		
-		if (!kingAttacks.isEmpty()) {
+		if (transitionBoard.getCurrentPlayer().getOpponent().isInCheck()) {
 			return new MoveTransition(board, board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
 		}
 		
@@ -80,22 +104,24 @@ public abstract class Player {
 		return new MoveTransition(this.board, move.undo(), move, MoveStatus.DONE);
 	}
 	
+	/**
+	 * Asks the legal move generator of SearchBoard whether any move is
+	 * left, instead of building the board behind every move. The answer
+	 * is kept, the GUI and the evaluator ask for checkmate and stalemate
+	 * of the same board many times.
+	 */
 	protected boolean hasEscapeMoves() {
-		for (final Move move : legalMoves) {
-			final MoveTransition transition = makeMove(move);
-			
-			if(transition.getMoveStatus().isDone()) {
-				return true;
-			}
+		if(hasEscapeMoves == null) {
+			hasEscapeMoves = new SearchBoard(board).hasLegalMoves(getAlliance());
 		}
 		
-		return false;
+		return hasEscapeMoves;
 	}
 	
 	/**
 	 * Abstract methods.
 	 */
-	public abstract Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentLegals);
+	public abstract Collection<Move> calculateKingCastles();
 	public abstract Collection<Piece> getActivePieces();
 	public abstract Alliance getAlliance();
 	public abstract Player getOpponent();
@@ -103,13 +129,11 @@ public abstract class Player {
 	/**
 	 * Getter and Setter methods.
 	 */
-	public boolean isMoveLegal(final Move move) { return legalMoves.contains(move); }
-	public boolean isInCheck() { return isInCheck; }
-	public boolean isInCheckMate() { return isInCheck && !hasEscapeMoves(); }
-	public boolean isInStaleMate() { return !isInCheck && !hasEscapeMoves(); }
+	public boolean isMoveLegal(final Move move) { return getLegalMoves().contains(move); }
+	public boolean isInCheckMate() { return isInCheck() && !hasEscapeMoves(); }
+	public boolean isInStaleMate() { return !isInCheck() && !hasEscapeMoves(); }
 	public boolean isKingSideCastleCapable() { return this.playerKing.isKingSideCastleCapable(); }
     public boolean isQueenSideCastleCapable() { return this.playerKing.isQueenSideCastleCapable(); }
 	public boolean isCastled() { return playerKing.isCastled(); }
 	public King getPlayerKing() { return playerKing; }
-	public Collection<Move> getLegalMoves() { return legalMoves; }
 }
@@ -9,7 +9,6 @@ import com.google.common.collect.ImmutableList;
 import de.wieland.Chess.engine.Alliance;
 import de.wieland.Chess.engine.board.Board;
 import de.wieland.Chess.engine.board.Move;
-import de.wieland.Chess.engine.board.Tile;
 import de.wieland.Chess.engine.board.Move.*;
 import de.wieland.Chess.engine.pieces.Piece;
 import de.wieland.Chess.engine.pieces.Rook;
@@ -23,36 +22,33 @@ import de.wieland.Chess.engine.pieces.Rook;
  */
 public class WhitePlayer extends Player {
 
-	public WhitePlayer(final Board board,
-					   final Collection<Move> whiteStandardLegalMoves,
-					   final Collection<Move> blackStandardLegalMoves) {
-		super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+	public WhitePlayer(final Board board) {
+		super(board);
 	}
 	
 	@Override
-	public Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-												 final Collection<Move> opponentLegals) {
+	public Collection<Move> calculateKingCastles() {
 		final List<Move> kingCastles = new ArrayList<>();
 		
 		if(playerKing.isFirstMove() && !isInCheck()) {
 			//whites king side castle
-			if(!board.getTile(61).isTileOccupied() && !board.getTile(62).isTileOccupied()) {
-				final Tile rookTile = board.getTile(63);
+			if(!board.isTileOccupied(61) && !board.isTileOccupied(62)) {
+				final Piece rookPiece = board.getPiece(63);
 				
-				if(rookTile.isTileOccupied() && rookTile.getPiece().getPieceType().isRook() && rookTile.getPiece().isFirstMove()) {
-					if(calculateAttacksOnTile(61, opponentLegals).isEmpty() && calculateAttacksOnTile(62, opponentLegals).isEmpty()) {
-						kingCastles.add(new KingSideCastleMove(board, playerKing, 62, (Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 61));
+				if(rookPiece != null && rookPiece.getPieceType().isRook() && rookPiece.isFirstMove()) {
+					if(!isTileAttacked(61) && !isTileAttacked(62)) {
+						kingCastles.add(new KingSideCastleMove(board, playerKing, 62, (Rook)rookPiece, rookPiece.getPiecePosition(), 61));
 					}
 				}
 			}
 			
 			//whites queen side castle
-			if(!board.getTile(59).isTileOccupied() && !board.getTile(58).isTileOccupied() && !board.getTile(57).isTileOccupied()) {
-				final Tile rookTile = board.getTile(56);
+			if(!board.isTileOccupied(59) && !board.isTileOccupied(58) && !board.isTileOccupied(57)) {
+				final Piece rookPiece = board.getPiece(56);
 				
-				if(rookTile.isTileOccupied() && rookTile.getPiece().getPieceType().isRook() && rookTile.getPiece().isFirstMove()) {
-					if(calculateAttacksOnTile(59, opponentLegals).isEmpty() && calculateAttacksOnTile(58, opponentLegals).isEmpty() && calculateAttacksOnTile(57, opponentLegals).isEmpty()) {
-						kingCastles.add(new QueenSideCastleMove(board, playerKing, 58, (Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 59));
+				if(rookPiece != null && rookPiece.getPieceType().isRook() && rookPiece.isFirstMove()) {
+					if(!isTileAttacked(59) && !isTileAttacked(58)) {
+						kingCastles.add(new QueenSideCastleMove(board, playerKing, 58, (Rook)rookPiece, rookPiece.getPiecePosition(), 59));
 					}
 				}
 			}
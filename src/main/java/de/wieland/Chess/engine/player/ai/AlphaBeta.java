@@ -0,0 +1,433 @@
+package de.wieland.Chess.engine.player.ai;
+
+import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.board.Move;
+import de.wieland.Chess.engine.board.Move.MoveFactory;
+import de.wieland.Chess.engine.board.SearchBoard;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Public class AlphaBeta.
+ *
+ * MiniMax with alpha-beta pruning. Subtrees that cannot change the
+ * result are cut off, so the same move is found while far fewer boards
+ * are evaluated. Results are cached in a transposition table, which also
+ * supplies the best move of an earlier visit to be searched first, the
+ * other moves are ordered by the MovePicker. The leaves are resolved by a
+ * quiescence search.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+@SuppressWarnings("deprecation")
+public class AlphaBeta extends Observable implements MoveStrategy {
+	public static final int DEFAULT_TABLE_SIZE_MB = 16;
+	private static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+	private static final int TIME_CHECK_INTERVAL = 1024;
+	private static final int EVALUATION_CACHE_ENTRIES = 1 << 16;
+	//scores do not depend on the search, so one cache serves every search and thread
+	private static final EvaluationCache EVALUATION_CACHE = new EvaluationCache(StandardBoardEvaluator.get(), EVALUATION_CACHE_ENTRIES);
+
+	private final BoardEvaluator boardEvaluator;
+	private final QuiescenceSearch quiescenceSearch;
+	private final TranspositionTable transpositionTable;
+	private final SearchHistory searchHistory;
+	private final int searchDepth;
+	private final long stopTime;
+	private final ForkJoinPool searchPool;
+	private final boolean isNewSearch;
+	private final int firstMove;
+
+	private final LongAdder boardsEvaluated;
+	private final LongAdder cutOffsProduced;
+	private int bestValue;
+	private volatile boolean aborted;
+
+	public AlphaBeta(final int searchDepth) {
+		this(searchDepth, new TranspositionTable(DEFAULT_TABLE_SIZE_MB));
+	}
+
+	public AlphaBeta(final int searchDepth,
+					 final TranspositionTable transpositionTable) {
+		this(searchDepth, transpositionTable, NO_TIME_LIMIT, null);
+	}
+
+	/**
+	 * Creates a search that gives up once the system clock passes
+	 * stopTime. An aborted search returns the best move found so far and
+	 * reports isAborted(). If a pool is given, the root moves after the
+	 * first one are searched in parallel on it.
+	 */
+	public AlphaBeta(final int searchDepth,
+					 final TranspositionTable transpositionTable,
+					 final long stopTime,
+					 final ForkJoinPool searchPool) {
+		this(searchDepth, transpositionTable, stopTime, searchPool, true);
+	}
+
+	/**
+	 * Creates a search that only ages the transposition table if it is a
+	 * new search. The iterations of an iterative deepening search belong
+	 * to the same move, so their results must not push out each other.
+	 */
+	public AlphaBeta(final int searchDepth,
+					 final TranspositionTable transpositionTable,
+					 final long stopTime,
+					 final ForkJoinPool searchPool,
+					 final boolean isNewSearch) {
+		this(searchDepth, transpositionTable, stopTime, searchPool, isNewSearch, MoveFactory.getNullMove());
+	}
+
+	/**
+	 * Creates a search that searches the given root move first, so an
+	 * iterative deepening search can start from the best move of its
+	 * previous iteration. In a parallel search that move is the eldest
+	 * brother whose value bounds the others.
+	 */
+	public AlphaBeta(final int searchDepth,
+					 final TranspositionTable transpositionTable,
+					 final long stopTime,
+					 final ForkJoinPool searchPool,
+					 final boolean isNewSearch,
+					 final Move firstMove) {
+		boardEvaluator = EVALUATION_CACHE;
+		quiescenceSearch = new QuiescenceSearch(boardEvaluator);
+		this.transpositionTable = transpositionTable;
+		this.searchDepth = searchDepth;
+		searchHistory = new SearchHistory(searchDepth);
+		this.stopTime = stopTime;
+		this.searchPool = searchPool;
+		this.isNewSearch = isNewSearch;
+		this.firstMove = firstMove == MoveFactory.getNullMove() ? SearchBoard.NO_MOVE : SearchBoard.encodeMove(firstMove);
+		boardsEvaluated = new LongAdder();
+		cutOffsProduced = new LongAdder();
+		aborted = false;
+	}
+
+	@Override
+	public Move execute(final Board board) {
+		final long startTime = System.currentTimeMillis();
+		final boolean isWhite = board.getCurrentPlayer().getAlliance().isWhite();
+
+		Move bestMove = MoveFactory.getNullMove();
+
+		int highestSeenValue = Integer.MIN_VALUE;
+		int lowestSeenValue = Integer.MAX_VALUE;
+
+		System.out.println(board.getCurrentPlayer() + " THINKING width depth: " + searchDepth);
+
+		final List<RootSearch> rootSearches = new ArrayList<>();
+		if(isNewSearch) {
+			transpositionTable.newSearch();
+		}
+
+		//the legal move generator filters the root moves, no board has to be built per move
+		final SearchBoard rootBoard = new SearchBoard(board);
+
+		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+			if(rootBoard.isLegal(SearchBoard.encodeMove(move))) {
+				rootSearches.add(new RootSearch(board, move));
+			} else {
+				final String output = "\t" + toString() + " can't execute move " + move;
+				System.out.println(output);
+				setChanged();
+				notifyObservers(output);
+			}
+		}
+
+		//the other root moves keep the generation order, so both paths break ties alike
+		for (int i = 1; i < rootSearches.size(); i++) {
+			if(SearchBoard.encodeMove(rootSearches.get(i).getMove()) == firstMove) {
+				rootSearches.add(0, rootSearches.remove(i));
+				break;
+			}
+		}
+
+		if(searchPool != null && !rootSearches.isEmpty()) {
+			//search the eldest brother alone, its value bounds the search of all others
+			final RootSearch eldestBrother = rootSearches.get(0);
+			eldestBrother.compute();
+
+			if(eldestBrother.isSearched()) {
+				for (final RootSearch rootSearch : rootSearches) {
+					rootSearch.setBestValue(eldestBrother.getValue());
+				}
+			}
+
+			searchPool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(rootSearches.subList(1, rootSearches.size()))));
+		}
+
+		for (int i = 0; i < rootSearches.size(); i++) {
+			final RootSearch rootSearch = rootSearches.get(i);
+
+			if(searchPool == null && !aborted) {
+				rootSearch.setBestValue(isWhite ? highestSeenValue : lowestSeenValue);
+				rootSearch.compute();
+			}
+
+			if(!rootSearch.isSearched()) {
+				continue;
+			}
+
+			final int currentValue = rootSearch.getValue();
+			final Move move = rootSearch.getMove();
+			final String output = "\t" + toString() + " analyzing move (" + (i + 1) + "/" + rootSearches.size() + ") " + move +
+								  " scores " + currentValue;
+			System.out.println(output);
+
+			if(isWhite && currentValue >= highestSeenValue) {
+				highestSeenValue = currentValue;
+				bestMove = move;
+			} else if(!isWhite && currentValue <= lowestSeenValue) {
+				lowestSeenValue = currentValue;
+				bestMove = move;
+			}
+
+			setChanged();
+			notifyObservers(output);
+		}
+
+		bestValue = isWhite ? highestSeenValue : lowestSeenValue;
+
+		final long executionTime = System.currentTimeMillis() - startTime;
+		final String result = board.getCurrentPlayer() + " SELECTS " + bestMove +
+							  " [#boards = " + boardsEvaluated.sum() +
+							  ", #quiescence boards = " + quiescenceSearch.getNumBoardsEvaluated() +
+							  ", #cutoffs = " + cutOffsProduced.sum() +
+							  ", time taken = " + executionTime + "ms" + "]" +
+							  (aborted ? " (out of time)" : "");
+
+		System.out.println(result);
+		setChanged();
+		notifyObservers(result);
+
+		return bestMove;
+	}
+
+	@Override
+	public long getNumBoardsEvaluated() {
+		return boardsEvaluated.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "AlphaBeta";
+	}
+
+	private int max(final SearchBoard board,
+					final int depth,
+					final int highest,
+					final int lowest,
+					final RootSearch rootSearch) {
+		if(depth == 0) {
+			boardsEvaluated.increment();
+
+			if(stopTime != NO_TIME_LIMIT && rootSearch.isOutOfTime()) {
+				aborted = true;
+			}
+
+			return quiescenceSearch.max(board, highest, lowest);
+		}
+
+		final long entry = transpositionTable.probe(board.getZobristKey());
+
+		if(entry != TranspositionTable.NO_ENTRY && TranspositionTable.getDepth(entry) >= depth) {
+			final int score = TranspositionTable.getScore(entry);
+			final int bound = TranspositionTable.getBound(entry);
+
+			if(bound == TranspositionTable.EXACT) {
+				return score;
+			} else if(bound == TranspositionTable.LOWER_BOUND && score >= lowest) {
+				return lowest;
+			} else if(bound == TranspositionTable.UPPER_BOUND && score <= highest) {
+				return highest;
+			}
+		}
+
+		int currentHighest = highest;
+		int bestMove = SearchBoard.NO_MOVE;
+		final int ply = searchDepth - depth;
+		final MovePicker movePicker = new MovePicker(board, TranspositionTable.getMove(entry), ply, searchHistory);
+		boolean hasLegalMove = false;
+
+		for (int move = movePicker.nextMove(); move != SearchBoard.NO_MOVE; move = movePicker.nextMove()) {
+			hasLegalMove = true;
+			board.makeMove(move);
+			final int currentValue = min(board, depth - 1, currentHighest, lowest, rootSearch);
+			board.unmakeMove();
+
+			if(aborted) {
+				return 0;
+			}
+
+			if(currentValue > currentHighest) {
+				currentHighest = currentValue;
+				bestMove = move;
+			}
+
+			if(currentHighest >= lowest) {
+				cutOffsProduced.increment();
+				searchHistory.storeCutoff(board, ply, move, depth);
+				transpositionTable.store(board.getZobristKey(), bestMove, currentHighest, depth, TranspositionTable.LOWER_BOUND);
+				return lowest;
+			}
+		}
+
+		//checkmate or stalemate, known from the move loop without a separate scan
+		if(!hasLegalMove) {
+			return boardEvaluator.evaluate(board, depth);
+		}
+
+		transpositionTable.store(board.getZobristKey(), bestMove, currentHighest, depth,
+								 currentHighest > highest ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND);
+		return currentHighest;
+	}
+
+	private int min(final SearchBoard board,
+					final int depth,
+					final int highest,
+					final int lowest,
+					final RootSearch rootSearch) {
+		if(depth == 0) {
+			boardsEvaluated.increment();
+
+			if(stopTime != NO_TIME_LIMIT && rootSearch.isOutOfTime()) {
+				aborted = true;
+			}
+
+			return quiescenceSearch.min(board, highest, lowest);
+		}
+
+		final long entry = transpositionTable.probe(board.getZobristKey());
+
+		if(entry != TranspositionTable.NO_ENTRY && TranspositionTable.getDepth(entry) >= depth) {
+			final int score = TranspositionTable.getScore(entry);
+			final int bound = TranspositionTable.getBound(entry);
+
+			if(bound == TranspositionTable.EXACT) {
+				return score;
+			} else if(bound == TranspositionTable.LOWER_BOUND && score >= lowest) {
+				return lowest;
+			} else if(bound == TranspositionTable.UPPER_BOUND && score <= highest) {
+				return highest;
+			}
+		}
+
+		int currentLowest = lowest;
+		int bestMove = SearchBoard.NO_MOVE;
+		final int ply = searchDepth - depth;
+		final MovePicker movePicker = new MovePicker(board, TranspositionTable.getMove(entry), ply, searchHistory);
+		boolean hasLegalMove = false;
+
+		for (int move = movePicker.nextMove(); move != SearchBoard.NO_MOVE; move = movePicker.nextMove()) {
+			hasLegalMove = true;
+			board.makeMove(move);
+			final int currentValue = max(board, depth - 1, highest, currentLowest, rootSearch);
+			board.unmakeMove();
+
+			if(aborted) {
+				return 0;
+			}
+
+			if(currentValue < currentLowest) {
+				currentLowest = currentValue;
+				bestMove = move;
+			}
+
+			if(currentLowest <= highest) {
+				cutOffsProduced.increment();
+				searchHistory.storeCutoff(board, ply, move, depth);
+				transpositionTable.store(board.getZobristKey(), bestMove, currentLowest, depth, TranspositionTable.UPPER_BOUND);
+				return highest;
+			}
+		}
+
+		//checkmate or stalemate, known from the move loop without a separate scan
+		if(!hasLegalMove) {
+			return boardEvaluator.evaluate(board, depth);
+		}
+
+		transpositionTable.store(board.getZobristKey(), bestMove, currentLowest, depth,
+								 currentLowest < lowest ? TranspositionTable.EXACT : TranspositionTable.LOWER_BOUND);
+		return currentLowest;
+	}
+
+
+	/**
+	 * Private class RootSearch.
+	 *
+	 * Searches the subtree of one root move on its own SearchBoard, so
+	 * several root moves can be searched at the same time. The window is
+	 * set one below the best value known when the search starts, so a move
+	 * that equals it still gets its exact value.
+	 *
+	 * @author Moritz Wieland
+	 * @version 1.0
+	 * @date 10.09.2021
+	 */
+	private class RootSearch extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Board board;
+		private final Move move;
+
+		private int bestValue;
+		private int value;
+		private boolean isSearched;
+		//only read by the thread running the task, so it needs no synchronization
+		private int leavesSinceTimeCheck;
+
+		RootSearch(final Board board,
+				   final Move move) {
+			this.board = board;
+			this.move = move;
+			this.bestValue = board.getCurrentPlayer().getAlliance().isWhite() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+		}
+
+		@Override
+		protected void compute() {
+			final SearchBoard searchBoard = new SearchBoard(board);
+			searchBoard.makeMove(SearchBoard.encodeMove(move));
+
+			value = board.getCurrentPlayer().getAlliance().isWhite() ?
+					min(searchBoard, searchDepth - 1, bestValue == Integer.MIN_VALUE ? Integer.MIN_VALUE : bestValue - 1, Integer.MAX_VALUE, this) :
+					max(searchBoard, searchDepth - 1, Integer.MIN_VALUE, bestValue == Integer.MAX_VALUE ? Integer.MAX_VALUE : bestValue + 1, this);
+			isSearched = !aborted;
+		}
+
+		/**
+		 * Reads the clock only every TIME_CHECK_INTERVAL leaves of this
+		 * task, reading it at every leaf costs more than the leaf itself.
+		 */
+		boolean isOutOfTime() {
+			if(++leavesSinceTimeCheck < TIME_CHECK_INTERVAL) {
+				return false;
+			}
+
+			leavesSinceTimeCheck = 0;
+			return System.currentTimeMillis() >= stopTime;
+		}
+
+		/**
+		 * Getter and Setter methods.
+		 */
+		Move getMove() { return move; }
+		int getValue() { return value; }
+		boolean isSearched() { return isSearched; }
+		void setBestValue(final int bestValue) { this.bestValue = bestValue; }
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public int getBestValue() { return bestValue; }
+	public boolean isAborted() { return aborted; }
+	public static EvaluationCache getEvaluationCache() { return EVALUATION_CACHE; }
+}
@@ -1,6 +1,7 @@
 package de.wieland.Chess.engine.player.ai;
 
 import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.board.SearchBoard;
 
 /**
  * Public interface BoardEvaluator.
@@ -11,4 +12,17 @@ import de.wieland.Chess.engine.board.Board;
  */
 public interface BoardEvaluator {
 	int evaluate(final Board board, final int depth);
+	int evaluate(final SearchBoard board, final int depth);
+	
+	/**
+	 * Evaluates a board for a search that only needs to know whether the
+	 * score lies within highest..lowest. Far outside the window the score
+	 * may be estimated, evaluators without a cheap estimate evaluate fully.
+	 */
+	default int evaluate(final SearchBoard board,
+						 final int depth,
+						 final int highest,
+						 final int lowest) {
+		return evaluate(board, depth);
+	}
 }
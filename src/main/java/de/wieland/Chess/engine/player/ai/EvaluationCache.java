@@ -0,0 +1,131 @@
+package de.wieland.Chess.engine.player.ai;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.board.SearchBoard;
+
+/**
+ * Public final class EvaluationCache.
+ *
+ * Wraps a BoardEvaluator and remembers its scores by the Zobrist key of
+ * the position, so a position reached again in another subtree is not
+ * evaluated twice. Every entry is one long holding the upper half of the
+ * key and the score: the lower half of the key picks the slot, the upper
+ * half is compared on lookup. A long is written in one piece, so threads
+ * share the cache without locking and a new score simply overwrites the
+ * slot. The depth is mixed into the key, since scores of mated positions
+ * depend on it, and so is which sides have castled, which the Zobrist key
+ * does not tell but the evaluation rewards.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class EvaluationCache implements BoardEvaluator {
+	private static final long KEY_MASK = 0xFFFFFFFF00000000L;
+	private static final long SCORE_MASK = 0xFFFFFFFFL;
+	private static final long DEPTH_MIX = 0x9E3779B97F4A7C15L;
+	private static final long CASTLED_MIX = 0xC2B2AE3D27D4EB4FL;
+
+	private final BoardEvaluator boardEvaluator;
+	private final int mask;
+	private final long[] entries;
+	private final LongAdder hits;
+	private final LongAdder misses;
+
+	public EvaluationCache(final BoardEvaluator boardEvaluator,
+						   final int numEntries) {
+		if(numEntries <= 0 || Integer.bitCount(numEntries) != 1) {
+			throw new IllegalArgumentException("Evaluation cache size must be a power of two: " + numEntries);
+		}
+
+		this.boardEvaluator = boardEvaluator;
+		this.mask = numEntries - 1;
+		this.entries = new long[numEntries];
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+	}
+
+	/**
+	 * Boards are passed through. The search only evaluates SearchBoards,
+	 * and the Board evaluation of a position may differ slightly, so the
+	 * two never share entries.
+	 */
+	@Override
+	public int evaluate(final Board board,
+						final int depth) {
+		return boardEvaluator.evaluate(board, depth);
+	}
+
+	@Override
+	public int evaluate(final SearchBoard board,
+						final int depth) {
+		final long key = cacheKey(board, depth);
+		final int index = (int) key & mask;
+		final long entry = entries[index];
+
+		if((entry & KEY_MASK) == (key & KEY_MASK) && entry != 0) {
+			hits.increment();
+			return (int) entry;
+		}
+
+		final int score = boardEvaluator.evaluate(board, depth);
+		misses.increment();
+		entries[index] = (key & KEY_MASK) | (score & SCORE_MASK);
+
+		return score;
+	}
+
+	/**
+	 * Scores outside the window may be estimates of the wrapped evaluator,
+	 * so only scores inside it are stored.
+	 */
+	@Override
+	public int evaluate(final SearchBoard board,
+						final int depth,
+						final int highest,
+						final int lowest) {
+		final long key = cacheKey(board, depth);
+		final int index = (int) key & mask;
+		final long entry = entries[index];
+
+		if((entry & KEY_MASK) == (key & KEY_MASK) && entry != 0) {
+			hits.increment();
+			return (int) entry;
+		}
+
+		final int score = boardEvaluator.evaluate(board, depth, highest, lowest);
+		misses.increment();
+
+		if(score > highest && score < lowest) {
+			entries[index] = (key & KEY_MASK) | (score & SCORE_MASK);
+		}
+
+		return score;
+	}
+
+	private static long cacheKey(final SearchBoard board,
+								 final int depth) {
+		return board.getZobristKey() ^ depth * DEPTH_MIX ^ board.getCastledFlags() * CASTLED_MIX;
+	}
+
+	public void clear() {
+		for (int i = 0; i < entries.length; i++) {
+			entries[i] = 0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "EvaluationCache [" + entries.length + " entries, " + hits.sum() + " hits, " + misses.sum() + " misses]";
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public long getNumHits() { return hits.sum(); }
+	public long getNumMisses() { return misses.sum(); }
+	public int getNumEntries() { return entries.length; }
+	public BoardEvaluator getBoardEvaluator() { return boardEvaluator; }
+}
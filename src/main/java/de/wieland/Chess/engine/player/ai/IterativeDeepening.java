@@ -0,0 +1,123 @@
+package de.wieland.Chess.engine.player.ai;
+
+import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.board.Move;
+import de.wieland.Chess.engine.board.Move.MoveFactory;
+import java.util.Observable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Public class IterativeDeepening.
+ *
+ * Runs AlphaBeta searches of depth 1, 2, 3, ... until the time granted by
+ * the TimeControl is used up or the maximum depth is reached, and plays
+ * the best move of the deepest search that finished. Each deeper search
+ * starts with the best root move of the one before, and below the root
+ * with the best moves the shallow searches left in the shared
+ * transposition table.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+@SuppressWarnings("deprecation")
+public class IterativeDeepening extends Observable implements MoveStrategy {
+	private final TranspositionTable transpositionTable;
+	private final TimeControl timeControl;
+	private final ForkJoinPool searchPool;
+	private final int maxDepth;
+
+	private long boardsEvaluated;
+	private int depthReached;
+
+	public IterativeDeepening(final int maxDepth,
+							  final TranspositionTable transpositionTable,
+							  final TimeControl timeControl) {
+		this(maxDepth, transpositionTable, timeControl, null);
+	}
+
+	/**
+	 * Creates an iterative deepening search whose iterations search the
+	 * root moves in parallel on the given pool, if it is not null. Depth 1
+	 * is always searched, so there is a move to play whatever the maximum
+	 * depth is.
+	 */
+	public IterativeDeepening(final int maxDepth,
+							  final TranspositionTable transpositionTable,
+							  final TimeControl timeControl,
+							  final ForkJoinPool searchPool) {
+		this.maxDepth = Math.max(1, maxDepth);
+		this.transpositionTable = transpositionTable;
+		this.timeControl = timeControl;
+		this.searchPool = searchPool;
+		boardsEvaluated = 0;
+		depthReached = 0;
+	}
+
+	@Override
+	public Move execute(final Board board) {
+		final long startTime = System.currentTimeMillis();
+		final long budget = timeControl.allocateTime();
+		final long stopTime = startTime + budget;
+
+		Move bestMove = MoveFactory.getNullMove();
+
+		System.out.println(board.getCurrentPlayer() + " THINKING for " + budget + " ms up to depth " + maxDepth);
+		transpositionTable.newSearch();
+
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			//depth 1 always finishes so there is a move to play
+			final AlphaBeta alphaBeta = new AlphaBeta(depth, transpositionTable, depth == 1 ? Long.MAX_VALUE : stopTime, searchPool, false, bestMove);
+			final Move move = alphaBeta.execute(board);
+			boardsEvaluated += alphaBeta.getNumBoardsEvaluated();
+
+			if(alphaBeta.isAborted()) {
+				break;
+			}
+
+			bestMove = move;
+			depthReached = depth;
+
+			final long elapsedTime = System.currentTimeMillis() - startTime;
+			final String output = "\t" + toString() + " depth " + depth + " selects " + bestMove +
+								  " scores " + alphaBeta.getBestValue() + " [" + elapsedTime + " ms]";
+			System.out.println(output);
+			setChanged();
+			notifyObservers(output);
+
+			//the next depth takes several times longer, don't start what cannot finish
+			if(elapsedTime * 2 > budget) {
+				break;
+			}
+		}
+
+		final long executionTime = System.currentTimeMillis() - startTime;
+		timeControl.moveMade(executionTime);
+
+		final String result = board.getCurrentPlayer() + " SELECTS " + bestMove +
+							  " [depth = " + depthReached +
+							  ", #boards = " + boardsEvaluated +
+							  ", time taken = " + executionTime + "ms" + "]";
+
+		System.out.println(result);
+		setChanged();
+		notifyObservers(result);
+
+		return bestMove;
+	}
+
+	@Override
+	public long getNumBoardsEvaluated() {
+		return boardsEvaluated;
+	}
+
+	@Override
+	public String toString() {
+		return "IterativeDeepening";
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public int getDepthReached() { return depthReached; }
+}
@@ -4,212 +4,299 @@ import de.wieland.Chess.engine.board.Board;
 import de.wieland.Chess.engine.board.BoardUtils;
 import de.wieland.Chess.engine.board.Move;
 import de.wieland.Chess.engine.board.Move.MoveFactory;
-import de.wieland.Chess.engine.board.MoveTransition;
+import de.wieland.Chess.engine.board.SearchBoard;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Observable;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Public class MiniMax.
- * 
+ *
  * @author Moritz Wieland
  * @version 1.0
  * @date 10.09.2021
  */
 @SuppressWarnings("deprecation")
 public class MiniMax extends Observable implements MoveStrategy {
+	private static final int EVALUATION_CACHE_ENTRIES = 1 << 16;
+	//scores do not depend on the search, so one cache serves every search and thread
+	private static final EvaluationCache EVALUATION_CACHE = new EvaluationCache(StandardBoardEvaluator.get(), EVALUATION_CACHE_ENTRIES);
+
 	private final BoardEvaluator boardEvaluator;
+	private final QuiescenceSearch quiescenceSearch;
 	private final int searchDepth;
-	
-	private long boardsEvaluated;
+	private final ForkJoinPool searchPool;
+
+	private final LongAdder boardsEvaluated;
 
 	private FreqTableRow[] freqTable;
-	private int freqTableIndex;
-	
+	private int bestValue;
+
 	public MiniMax(final int searchDepth) {
-		boardEvaluator = StandardBoardEvaluator.get();
+		this(searchDepth, null);
+	}
+
+	/**
+	 * Creates a search that evaluates the root moves in parallel on the
+	 * given pool, or one after another if the pool is null.
+	 */
+	public MiniMax(final int searchDepth,
+				   final ForkJoinPool searchPool) {
+		boardEvaluator = EVALUATION_CACHE;
+		quiescenceSearch = new QuiescenceSearch(boardEvaluator);
 		this.searchDepth = searchDepth;
-		boardsEvaluated = 0;
+		this.searchPool = searchPool;
+		boardsEvaluated = new LongAdder();
 	}
-	
+
 	@Override
 	public Move execute(final Board board) {
 		final long startTime = System.currentTimeMillis();
-		
+		final boolean isWhite = board.getCurrentPlayer().getAlliance().isWhite();
+
 		Move bestMove = MoveFactory.getNullMove();
-		
+
 		int highestSeenValue = Integer.MIN_VALUE;
 		int lowestSeenValue = Integer.MAX_VALUE;
-		int currentValue;
-				
+
 		System.out.println(board.getCurrentPlayer() + " THINKING width depth: " + searchDepth);
-		
-		freqTable = new FreqTableRow[board.getCurrentPlayer().getLegalMoves().size()];
-		freqTableIndex = 0;
-		
-		int moveCounter = 1;
-		int numMoves = board.getCurrentPlayer().getLegalMoves().size();
+
+		final List<Move> rootMoves = new ArrayList<>();
+
+		//the legal move generator filters the root moves, no board has to be built per move
+		final SearchBoard rootBoard = new SearchBoard(board);
 
 		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-			final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-			final String output;
-			
-			if(moveTransition.getMoveStatus().isDone()) {
-				final FreqTableRow row = new FreqTableRow(move);
-				freqTable[freqTableIndex] = row;
-				
-				currentValue = board.getCurrentPlayer().getAlliance().isWhite() ?
-							   min(moveTransition.getToBoard(), searchDepth - 1) :
-							   max(moveTransition.getToBoard(), searchDepth - 1);
-				
-				output = "\t" + toString() + " analyzing move (" + moveCounter + "/" + numMoves + ") " + move +
-                        " scores " + currentValue + " " + this.freqTable[this.freqTableIndex];
-				System.out.println(output);
-				
-				freqTableIndex++;
-				
-				if(board.getCurrentPlayer().getAlliance().isWhite() &&
-				   currentValue >= highestSeenValue) {
-					highestSeenValue = currentValue;
-					bestMove = move;
-				} else if(board.getCurrentPlayer().getAlliance().isBlack() &&
-						  currentValue <= lowestSeenValue) {
-					lowestSeenValue = currentValue;
-					bestMove = move;
-				}
+			if(rootBoard.isLegal(SearchBoard.encodeMove(move))) {
+				rootMoves.add(move);
 			} else {
-				output = "\t" + toString() + " can't execute move (" + moveCounter + "/" + numMoves+ ") " + move;
+				final String output = "\t" + toString() + " can't execute move " + move;
 				System.out.println(output);
+				setChanged();
+				notifyObservers(output);
+			}
+		}
+
+		freqTable = new FreqTableRow[rootMoves.size()];
+		final List<RootSearch> rootSearches = new ArrayList<>();
+
+		for (int i = 0; i < rootMoves.size(); i++) {
+			freqTable[i] = new FreqTableRow(rootMoves.get(i));
+			rootSearches.add(new RootSearch(board, freqTable[i]));
+		}
+
+		if(searchPool != null) {
+			searchPool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(rootSearches)));
+		} else {
+			for (final RootSearch rootSearch : rootSearches) {
+				rootSearch.compute();
 			}
-				
-			moveCounter++;
+		}
+
+		for (int i = 0; i < rootMoves.size(); i++) {
+			final Move move = rootMoves.get(i);
+			final RootSearch rootSearch = rootSearches.get(i);
+
+			if(!rootSearch.isSearched()) {
+				continue;
+			}
+
+			final int currentValue = rootSearch.getValue();
+			final String output = "\t" + toString() + " analyzing move (" + (i + 1) + "/" + rootMoves.size() + ") " + move +
+								  " scores " + currentValue + " " + freqTable[i];
+			System.out.println(output);
+
+			if(isWhite && currentValue >= highestSeenValue) {
+				highestSeenValue = currentValue;
+				bestMove = move;
+			} else if(!isWhite && currentValue <= lowestSeenValue) {
+				lowestSeenValue = currentValue;
+				bestMove = move;
+			}
+
 			setChanged();
 			notifyObservers(output);
 		}
 
+		bestValue = isWhite ? highestSeenValue : lowestSeenValue;
+
 		long executionTime = System.currentTimeMillis() - startTime;
 		final String result = board.getCurrentPlayer() + " SELECTS " + bestMove +
-							  " [#boards = " + this.boardsEvaluated +
+							  " [#boards = " + boardsEvaluated.sum() +
 							  ", time taken = " + executionTime + "ms" + "]";
-		
+
 		System.out.printf("%s SELECTS %s [#boards = %d, time taken = %d ms]\n", board.getCurrentPlayer(),
-                bestMove, this.boardsEvaluated, executionTime);
+                bestMove, boardsEvaluated.sum(), executionTime);
 		this.setChanged();
 		this.notifyObservers(result);
-		
+
 		long total = 0;
-		
+
 		for (final FreqTableRow row : freqTable) {
 			if(row != null) {
 				total += row.getCount();
 			}
 		}
-		
-		if(boardsEvaluated != total) {
+
+		if(boardsEvaluated.sum() != total) {
 			System.out.println("something is wrong with the # of boards evaluated!");
 		}
-		
+
 		return bestMove;
 	}
-	
+
 	@Override
 	public long getNumBoardsEvaluated() {
-		return boardsEvaluated;
+		return boardsEvaluated.sum();
 	}
-	
+
 	@Override
 	public String toString() {
 		return "MiniMax";
 	}
-	
-	public int min(final Board board,
-				   final int depth) {
+
+	private int min(final SearchBoard board,
+					final int depth,
+					final FreqTableRow row) {
 		if(depth == 0) {
-			boardsEvaluated++;
-			freqTable[freqTableIndex].increment();
-			return boardEvaluator.evaluate(board, depth);
+			boardsEvaluated.increment();
+			row.increment();
+			return quiescenceSearch.min(board, Integer.MIN_VALUE, Integer.MAX_VALUE);
 		}
-		
-		if(isEndGameScenario(board) ) {
+
+		int lowestSeenNumber = Integer.MAX_VALUE;
+		final int[] moves = board.getMoveBuffer();
+		final int numMoves = board.generateMoves(moves);
+
+		//checkmate or stalemate, known from the move count without a separate scan
+		if(numMoves == 0) {
 			return boardEvaluator.evaluate(board, depth);
 		}
-		
-		int lowestSeenNumber = Integer.MAX_VALUE;
-		
-		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-			final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-			
-			if(moveTransition.getMoveStatus().isDone()) {
-				final int currentValue = max(moveTransition.getToBoard(), depth - 1);
-				
-				if(currentValue <= lowestSeenNumber) {
-					lowestSeenNumber = currentValue;
-				}
+
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(moves[i]);
+			final int currentValue = max(board, depth - 1, row);
+			board.unmakeMove();
+
+			if(currentValue <= lowestSeenNumber) {
+				lowestSeenNumber = currentValue;
 			}
 		}
-		
+
 		return lowestSeenNumber;
 	}
-	
-	public int max(final Board board, final int depth) {
+
+	private int max(final SearchBoard board,
+					final int depth,
+					final FreqTableRow row) {
 		if(depth == 0) {
-			boardsEvaluated++;
-			freqTable[freqTableIndex].increment();
-			return boardEvaluator.evaluate(board, depth);
+			boardsEvaluated.increment();
+			row.increment();
+			return quiescenceSearch.max(board, Integer.MIN_VALUE, Integer.MAX_VALUE);
 		}
-		
-		if(isEndGameScenario(board)) {
+
+		int highestSeenNumber = Integer.MIN_VALUE;
+		final int[] moves = board.getMoveBuffer();
+		final int numMoves = board.generateMoves(moves);
+
+		//checkmate or stalemate, known from the move count without a separate scan
+		if(numMoves == 0) {
 			return boardEvaluator.evaluate(board, depth);
 		}
-		
-		int highestSeenNumber = Integer.MIN_VALUE;
-		
-		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
-			final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
-			
-			if(moveTransition.getMoveStatus().isDone()) {
-				final int currentValue = min(moveTransition.getToBoard(), depth - 1);
-				
-				if(currentValue >= highestSeenNumber) {
-					highestSeenNumber = currentValue;
-				}
+
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(moves[i]);
+			final int currentValue = min(board, depth - 1, row);
+			board.unmakeMove();
+
+			if(currentValue >= highestSeenNumber) {
+				highestSeenNumber = currentValue;
 			}
 		}
-		
+
 		return highestSeenNumber;
 	}
-	
-	private static boolean isEndGameScenario(final Board board) {
-		return board.getCurrentPlayer().isInCheckMate() ||
-			   board.getCurrentPlayer().isInStaleMate();
+
+
+	/**
+	 * Private class RootSearch.
+	 *
+	 * Searches the subtree of one root move on its own SearchBoard, so
+	 * several root moves can be searched at the same time.
+	 *
+	 * @author Moritz Wieland
+	 * @version 1.0
+	 * @date 10.09.2021
+	 */
+	private class RootSearch extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Board board;
+		private final FreqTableRow row;
+
+		private int value;
+		private boolean isSearched;
+
+		RootSearch(final Board board,
+				   final FreqTableRow row) {
+			this.board = board;
+			this.row = row;
+		}
+
+		@Override
+		protected void compute() {
+			final SearchBoard searchBoard = new SearchBoard(board);
+			searchBoard.makeMove(SearchBoard.encodeMove(row.getMove()));
+			value = board.getCurrentPlayer().getAlliance().isWhite() ?
+					min(searchBoard, searchDepth - 1, row) :
+					max(searchBoard, searchDepth - 1, row);
+			isSearched = true;
+		}
+
+		/**
+		 * Getter and Setter methods.
+		 */
+		int getValue() { return value; }
+		boolean isSearched() { return isSearched; }
 	}
-	
-	
+
+
 	/**
 	 * Public static class FreqTableRow.
-	 * 
+	 *
 	 * @author Moritz Wieland
 	 * @version 1.0
 	 * @date 10.09.2021
 	 */
 	private static class FreqTableRow {
 		private final Move move;
-		private final AtomicLong count;
-		
+		private final LongAdder count;
+
 		public FreqTableRow(final Move move) {
-			count = new AtomicLong();
+			count = new LongAdder();
 			this.move = move;
 		}
-		
+
 		@Override
 		public String toString() {
 			return BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()) +
 				   BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()) + " : "  + count;
 		}
-		
+
 		/**
 		 * Getter and Setter methods.
 		 */
-		long getCount() { return count.get(); }
-		void increment() { count.incrementAndGet(); }
+		Move getMove() { return move; }
+		long getCount() { return count.sum(); }
+		void increment() { count.increment(); }
 	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public int getBestValue() { return bestValue; }
 }
@@ -0,0 +1,243 @@
+package de.wieland.Chess.engine.player.ai;
+
+import de.wieland.Chess.engine.board.BitBoard;
+import de.wieland.Chess.engine.board.SearchBoard;
+import de.wieland.Chess.engine.pieces.PieceType;
+
+/**
+ * Public final class MovePicker.
+ *
+ * Hands out the moves of a node in the order they are most likely to
+ * cause a cutoff: the hash move, the captures and promotions by most
+ * valuable victim and least valuable attacker, the two killer moves of
+ * the ply and the remaining quiet moves by their history counter.
+ * Captures that lose material by static exchange evaluation are handed
+ * out after the quiet moves and left out of the quiescence search. Each
+ * stage is only generated once the stages before are used up, and every
+ * call picks the best remaining move instead of sorting the whole list,
+ * so a node that cuts off early skips most of the work. The moves are
+ * kept in the move buffer of the ply, so picking allocates no lists.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class MovePicker {
+	private static final int HASH_MOVE = 0;
+	private static final int GENERATE_CAPTURES = 1;
+	private static final int CAPTURES = 2;
+	private static final int FIRST_KILLER = 3;
+	private static final int SECOND_KILLER = 4;
+	private static final int GENERATE_QUIETS = 5;
+	private static final int QUIETS = 6;
+	private static final int BAD_CAPTURES = 7;
+	private static final int DONE = 8;
+	private static final int LOSING_CAPTURE_PENALTY = 1 << 20;
+
+	private final SearchBoard board;
+	private final SearchHistory searchHistory;
+	private final int hashMove;
+	private final int firstKiller;
+	private final int secondKiller;
+	private final boolean isCaptureOnly;
+
+	private final int[] moves;
+	private final int[] scores;
+	private int numMoves;
+	private int numBadCaptures;
+	private int index;
+	private int stage;
+
+	public MovePicker(final SearchBoard board,
+					  final int hashMove,
+					  final int ply,
+					  final SearchHistory searchHistory) {
+		this(board, hashMove, searchHistory.getFirstKiller(ply), searchHistory.getSecondKiller(ply), searchHistory, false);
+	}
+
+	private MovePicker(final SearchBoard board,
+					   final int hashMove,
+					   final int firstKiller,
+					   final int secondKiller,
+					   final SearchHistory searchHistory,
+					   final boolean isCaptureOnly) {
+		this.board = board;
+		this.hashMove = hashMove;
+		this.firstKiller = firstKiller;
+		this.secondKiller = secondKiller;
+		this.searchHistory = searchHistory;
+		this.isCaptureOnly = isCaptureOnly;
+		moves = board.getMoveBuffer();
+		scores = board.getScoreBuffer();
+		stage = hashMove == SearchBoard.NO_MOVE ? GENERATE_CAPTURES : HASH_MOVE;
+	}
+
+	/**
+	 * Picks the captures and promotions only, as searched by the
+	 * quiescence search.
+	 */
+	public static MovePicker captures(final SearchBoard board) {
+		return new MovePicker(board, SearchBoard.NO_MOVE, SearchBoard.NO_MOVE, SearchBoard.NO_MOVE, null, true);
+	}
+
+	/**
+	 * Picks all moves without hash move, killers or history, for nodes
+	 * outside the main search that have to look at every move.
+	 */
+	public static MovePicker allMoves(final SearchBoard board) {
+		return new MovePicker(board, SearchBoard.NO_MOVE, SearchBoard.NO_MOVE, SearchBoard.NO_MOVE, null, false);
+	}
+
+	/**
+	 * Returns the next legal move, or NO_MOVE once all moves were
+	 * handed out.
+	 */
+	public int nextMove() {
+		while (true) {
+			switch (stage) {
+				case HASH_MOVE:
+					stage = GENERATE_CAPTURES;
+
+					if(board.isLegal(hashMove)) {
+						return hashMove;
+					}
+					break;
+				case GENERATE_CAPTURES:
+					numMoves = board.generateCaptures(moves);
+					index = 0;
+
+					for (int i = 0; i < numMoves; i++) {
+						scores[i] = captureScore(moves[i]) - (isLosingCapture(moves[i]) ? LOSING_CAPTURE_PENALTY : 0);
+					}
+
+					stage = CAPTURES;
+					break;
+				case CAPTURES:
+					while (index < numMoves) {
+						final int move = pickBestMove();
+
+						//only losing captures are left, they wait at the front of the buffer for the quiet moves to go first
+						if(scores[index - 1] < 0) {
+							numBadCaptures = numMoves - (index - 1);
+							System.arraycopy(moves, index - 1, moves, 0, numBadCaptures);
+							System.arraycopy(scores, index - 1, scores, 0, numBadCaptures);
+							break;
+						}
+
+						if(move != hashMove) {
+							return move;
+						}
+					}
+
+					stage = isCaptureOnly ? DONE : FIRST_KILLER;
+					break;
+				case FIRST_KILLER:
+					stage = SECOND_KILLER;
+
+					if(isKiller(firstKiller)) {
+						return firstKiller;
+					}
+					break;
+				case SECOND_KILLER:
+					stage = GENERATE_QUIETS;
+
+					if(secondKiller != firstKiller && isKiller(secondKiller)) {
+						return secondKiller;
+					}
+					break;
+				case GENERATE_QUIETS:
+					numMoves = board.generateQuiets(moves, numBadCaptures);
+					index = numBadCaptures;
+
+					for (int i = numBadCaptures; i < numMoves; i++) {
+						scores[i] = searchHistory == null ? 0 : searchHistory.getHistory(board.getMoveMaker(), moves[i]);
+					}
+
+					stage = QUIETS;
+					break;
+				case QUIETS:
+					while (index < numMoves) {
+						final int move = pickBestMove();
+
+						if(move != hashMove && move != firstKiller && move != secondKiller) {
+							return move;
+						}
+					}
+
+					numMoves = numBadCaptures;
+					index = 0;
+					stage = BAD_CAPTURES;
+					break;
+				case BAD_CAPTURES:
+					while (index < numMoves) {
+						final int move = pickBestMove();
+
+						if(move != hashMove) {
+							return move;
+						}
+					}
+
+					stage = DONE;
+					break;
+				default:
+					return SearchBoard.NO_MOVE;
+			}
+		}
+	}
+
+	private boolean isKiller(final int killer) {
+		return killer != SearchBoard.NO_MOVE && killer != hashMove &&
+			   !SearchBoard.isCapture(killer) && !SearchBoard.isPromotion(killer) && board.isLegal(killer);
+	}
+
+	/**
+	 * Swaps the best scored of the remaining moves to the front of them
+	 * and returns it.
+	 */
+	private int pickBestMove() {
+		int best = index;
+
+		for (int i = index + 1; i < numMoves; i++) {
+			if(scores[i] > scores[best]) {
+				best = i;
+			}
+		}
+
+		final int move = moves[best];
+		final int score = scores[best];
+		moves[best] = moves[index];
+		scores[best] = scores[index];
+		moves[index] = move;
+		scores[index] = score;
+		index++;
+
+		return move;
+	}
+
+	/**
+	 * A capture of a piece worth at least the capturing one cannot lose
+	 * material, only the others are played out.
+	 */
+	private boolean isLosingCapture(final int move) {
+		final int victim = SearchBoard.getCapturedPiece(move);
+		final int victimValue = victim == BitBoard.NO_PIECE ? 0 : BitBoard.pieceTypeOf(victim).getPieceValue();
+
+		return victimValue < BitBoard.pieceTypeOf(SearchBoard.getMovedPiece(move)).getPieceValue() &&
+			   board.staticExchange(move) < 0;
+	}
+
+	/**
+	 * Scores a capture by most valuable victim, then least valuable
+	 * attacker. Promotions count the new queen as captured material.
+	 */
+	static int captureScore(final int move) {
+		final int victim = SearchBoard.getCapturedPiece(move);
+		int victimValue = victim == BitBoard.NO_PIECE ? 0 : BitBoard.pieceTypeOf(victim).getPieceValue();
+
+		if(SearchBoard.getMoveFlag(move) == SearchBoard.QUEEN_PROMOTION) {
+			victimValue += PieceType.QUEEN.getPieceValue();
+		}
+
+		return victimValue * BitBoard.NUM_PIECE_TYPES - BitBoard.pieceTypeOf(SearchBoard.getMovedPiece(move)).ordinal();
+	}
+}
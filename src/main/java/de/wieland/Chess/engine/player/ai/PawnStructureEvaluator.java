@@ -0,0 +1,126 @@
+package de.wieland.Chess.engine.player.ai;
+
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.board.BitBoard;
+import de.wieland.Chess.engine.board.BoardUtils;
+import de.wieland.Chess.engine.pieces.PieceType;
+
+/**
+ * Public final class PawnStructureEvaluator.
+ *
+ * Scores the pawn skeleton of a position from white's point of view:
+ * doubled and isolated pawns are penalized, passed pawns get a bonus
+ * growing with their advance. The pawns change in few moves, so the
+ * scores are kept in a hash table keyed by the pawn key of the position
+ * and most leaves of a search find theirs there. As in the
+ * TranspositionTable each entry is stored next to its key xor the entry,
+ * so a torn write from another thread reads as a miss.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class PawnStructureEvaluator {
+	private static final int DOUBLED_PAWN_PENALTY = 10;
+	private static final int ISOLATED_PAWN_PENALTY = 10;
+	private static final int[] PASSED_PAWN_BONUS = {0, 5, 10, 20, 35, 60, 100, 0};
+
+	private static final long NO_ENTRY = 0;
+	private static final long FILLED = 1L << Integer.SIZE;
+
+	private static final long[] COLUMNS = new long[BoardUtils.NUM_TILES_PER_ROW];
+	private static final long[] ADJACENT_COLUMNS = new long[BoardUtils.NUM_TILES_PER_ROW];
+	private static final long[][] PASSED_PAWN_MASKS = new long[2][BoardUtils.NUM_TILES];
+
+	static {
+		for (int column = 0; column < BoardUtils.NUM_TILES_PER_ROW; column++) {
+			COLUMNS[column] = BitBoard.FIRST_COLUMN << column;
+		}
+
+		for (int column = 0; column < BoardUtils.NUM_TILES_PER_ROW; column++) {
+			ADJACENT_COLUMNS[column] = (column > 0 ? COLUMNS[column - 1] : 0L) |
+									   (column < BoardUtils.NUM_TILES_PER_ROW - 1 ? COLUMNS[column + 1] : 0L);
+		}
+
+		for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+			final int row = coordinate / BoardUtils.NUM_TILES_PER_ROW;
+			final long columns = COLUMNS[coordinate % BoardUtils.NUM_TILES_PER_ROW] |
+								 ADJACENT_COLUMNS[coordinate % BoardUtils.NUM_TILES_PER_ROW];
+			//white pawns run towards row 0, black pawns towards row 7
+			final long rowsAhead = (1L << (row * BoardUtils.NUM_TILES_PER_ROW)) - 1;
+			final long rowsBehind = -(1L << ((row + 1) * BoardUtils.NUM_TILES_PER_ROW));
+
+			PASSED_PAWN_MASKS[Alliance.WHITE.ordinal()][coordinate] = columns & rowsAhead;
+			PASSED_PAWN_MASKS[Alliance.BLACK.ordinal()][coordinate] = row == BoardUtils.NUM_TILES_PER_ROW - 1 ? 0L : columns & rowsBehind;
+		}
+	}
+
+	private final int mask;
+	private final long[] keys;
+	private final long[] entries;
+
+	public PawnStructureEvaluator(final int numEntries) {
+		if(numEntries <= 0 || Integer.bitCount(numEntries) != 1) {
+			throw new IllegalArgumentException("Pawn hash table size must be a power of two: " + numEntries);
+		}
+
+		this.mask = numEntries - 1;
+		this.keys = new long[numEntries];
+		this.entries = new long[numEntries];
+	}
+
+	/**
+	 * Returns the pawn structure score of the position with the given
+	 * pawn key, calculated only if the table does not hold it.
+	 */
+	public int evaluate(final BitBoard bitBoard,
+						final long pawnKey) {
+		final int index = (int) pawnKey & mask;
+		final long entry = entries[index];
+
+		if((keys[index] ^ entry) == pawnKey && entry != NO_ENTRY) {
+			return (int) entry;
+		}
+
+		final int score = calculateScore(bitBoard);
+		final long newEntry = (score & 0xFFFFFFFFL) | FILLED;
+		keys[index] = pawnKey ^ newEntry;
+		entries[index] = newEntry;
+
+		return score;
+	}
+
+	static int calculateScore(final BitBoard bitBoard) {
+		return scoreAlliance(bitBoard, Alliance.WHITE) - scoreAlliance(bitBoard, Alliance.BLACK);
+	}
+
+	private static int scoreAlliance(final BitBoard bitBoard,
+									 final Alliance alliance) {
+		final long pawns = bitBoard.getPieces(alliance, PieceType.PAWN);
+		final long opponentPawns = bitBoard.getPieces(alliance.getOpponent(), PieceType.PAWN);
+		int score = 0;
+
+		for (int column = 0; column < BoardUtils.NUM_TILES_PER_ROW; column++) {
+			final int numPawns = Long.bitCount(pawns & COLUMNS[column]);
+
+			if(numPawns > 1) {
+				score -= (numPawns - 1) * DOUBLED_PAWN_PENALTY;
+			}
+
+			if(numPawns > 0 && (pawns & ADJACENT_COLUMNS[column]) == 0) {
+				score -= numPawns * ISOLATED_PAWN_PENALTY;
+			}
+		}
+
+		for (long remaining = pawns; remaining != 0; remaining &= remaining - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(remaining);
+
+			if((PASSED_PAWN_MASKS[alliance.ordinal()][coordinate] & opponentPawns) == 0) {
+				final int row = coordinate / BoardUtils.NUM_TILES_PER_ROW;
+				score += PASSED_PAWN_BONUS[alliance.isWhite() ? BoardUtils.NUM_TILES_PER_ROW - 1 - row : row];
+			}
+		}
+
+		return score;
+	}
+}
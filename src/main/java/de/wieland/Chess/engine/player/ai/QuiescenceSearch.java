@@ -0,0 +1,150 @@
+package de.wieland.Chess.engine.player.ai;
+
+import de.wieland.Chess.engine.board.SearchBoard;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Public final class QuiescenceSearch.
+ *
+ * Extends the leaves of a search with captures and promotions until the
+ * position is quiet, so a leaf is never evaluated in the middle of an
+ * exchange. The side to move may always stand pat, i.e. decline to capture
+ * and take the static evaluation, which bounds the search from below. A
+ * side in check has to get out of it instead, so all its moves are
+ * searched. The MovePicker hands out the captures of the most valuable
+ * pieces first, they produce the earliest cutoffs. Chains of checks could
+ * go on for long, so past MAX_PLY plies the position is evaluated as it is.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class QuiescenceSearch {
+	private static final int MAX_PLY = 32;
+
+	private final BoardEvaluator boardEvaluator;
+	private final LongAdder boardsEvaluated;
+
+	public QuiescenceSearch(final BoardEvaluator boardEvaluator) {
+		this.boardEvaluator = boardEvaluator;
+		boardsEvaluated = new LongAdder();
+	}
+
+	public int max(final SearchBoard board,
+				   final int highest,
+				   final int lowest) {
+		return max(board, highest, lowest, 0);
+	}
+
+	private int max(final SearchBoard board,
+					final int highest,
+					final int lowest,
+					final int ply) {
+		if(ply >= MAX_PLY) {
+			return Math.max(highest, Math.min(lowest, evaluate(board)));
+		}
+
+		final boolean isInCheck = board.isInCheck();
+		int currentHighest = highest;
+
+		if(!isInCheck) {
+			final int standPat = evaluate(board, highest, lowest);
+
+			if(standPat >= lowest) {
+				return lowest;
+			}
+
+			currentHighest = Math.max(currentHighest, standPat);
+		}
+
+		final MovePicker movePicker = isInCheck ? MovePicker.allMoves(board) : MovePicker.captures(board);
+		boolean hasLegalMove = false;
+
+		for (int move = movePicker.nextMove(); move != SearchBoard.NO_MOVE; move = movePicker.nextMove()) {
+			board.makeMove(move);
+			final int currentValue = min(board, currentHighest, lowest, ply + 1);
+			board.unmakeMove();
+			hasLegalMove = true;
+
+			if(currentValue > currentHighest) {
+				currentHighest = currentValue;
+			}
+
+			if(currentHighest >= lowest) {
+				return lowest;
+			}
+		}
+
+		//checkmate, the evaluator knows how to score it
+		return isInCheck && !hasLegalMove ? Math.max(highest, Math.min(lowest, evaluate(board))) : currentHighest;
+	}
+
+	public int min(final SearchBoard board,
+				   final int highest,
+				   final int lowest) {
+		return min(board, highest, lowest, 0);
+	}
+
+	private int min(final SearchBoard board,
+					final int highest,
+					final int lowest,
+					final int ply) {
+		if(ply >= MAX_PLY) {
+			return Math.max(highest, Math.min(lowest, evaluate(board)));
+		}
+
+		final boolean isInCheck = board.isInCheck();
+		int currentLowest = lowest;
+
+		if(!isInCheck) {
+			final int standPat = evaluate(board, highest, lowest);
+
+			if(standPat <= highest) {
+				return highest;
+			}
+
+			currentLowest = Math.min(currentLowest, standPat);
+		}
+
+		final MovePicker movePicker = isInCheck ? MovePicker.allMoves(board) : MovePicker.captures(board);
+		boolean hasLegalMove = false;
+
+		for (int move = movePicker.nextMove(); move != SearchBoard.NO_MOVE; move = movePicker.nextMove()) {
+			board.makeMove(move);
+			final int currentValue = max(board, highest, currentLowest, ply + 1);
+			board.unmakeMove();
+			hasLegalMove = true;
+
+			if(currentValue < currentLowest) {
+				currentLowest = currentValue;
+			}
+
+			if(currentLowest <= highest) {
+				return highest;
+			}
+		}
+
+		return isInCheck && !hasLegalMove ? Math.max(highest, Math.min(lowest, evaluate(board))) : currentLowest;
+	}
+
+	private int evaluate(final SearchBoard board) {
+		boardsEvaluated.increment();
+		return boardEvaluator.evaluate(board, 0);
+	}
+
+	/**
+	 * Standing pat only compares the score with the window, so a score
+	 * that is clearly outside it need not be exact.
+	 */
+	private int evaluate(final SearchBoard board,
+						 final int highest,
+						 final int lowest) {
+		boardsEvaluated.increment();
+		return boardEvaluator.evaluate(board, 0, highest, lowest);
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public long getNumBoardsEvaluated() { return boardsEvaluated.sum(); }
+}
@@ -0,0 +1,81 @@
+package de.wieland.Chess.engine.player.ai;
+
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.board.BoardUtils;
+import de.wieland.Chess.engine.board.SearchBoard;
+
+/**
+ * Public final class SearchHistory.
+ *
+ * Remembers which quiet moves produced cutoffs during a search: two
+ * killer moves per ply, tried right after the captures of their
+ * siblings, and a history counter per side and from/to pair, by which the
+ * remaining quiet moves are ordered. It is shared by the threads of a
+ * parallel search without locking, a lost update only costs ordering
+ * quality.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class SearchHistory {
+	private static final int NUM_KILLERS = 2;
+	private static final int HISTORY_LIMIT = 1 << 20;
+	private static final int NUM_FROM_TO = BoardUtils.NUM_TILES * BoardUtils.NUM_TILES;
+
+	private final int[] killers;
+	private final int[] history;
+
+	public SearchHistory(final int maxPly) {
+		killers = new int[(maxPly + 1) * NUM_KILLERS];
+		history = new int[2 * NUM_FROM_TO];
+	}
+
+	/**
+	 * Records the move that caused a cutoff at the given ply, called after
+	 * it was taken back. Captures and promotions are skipped, they are
+	 * ordered by their victim anyway. Deeper subtrees weigh more, since
+	 * their cutoffs save more work.
+	 */
+	public void storeCutoff(final SearchBoard board,
+							final int ply,
+							final int move,
+							final int depth) {
+		if(SearchBoard.isCapture(move) || SearchBoard.isPromotion(move)) {
+			return;
+		}
+
+		final Alliance alliance = board.getMoveMaker();
+		final int index = ply * NUM_KILLERS;
+
+		if(killers[index] != move) {
+			killers[index + 1] = killers[index];
+			killers[index] = move;
+		}
+
+		final int historyIndex = historyIndex(alliance, move);
+		history[historyIndex] += depth * depth;
+
+		//halve the counters of the side, so old cutoffs fade and nothing overflows
+		if(history[historyIndex] > HISTORY_LIMIT) {
+			final int offset = alliance.ordinal() * NUM_FROM_TO;
+
+			for (int i = offset; i < offset + NUM_FROM_TO; i++) {
+				history[i] >>= 1;
+			}
+		}
+	}
+
+	private static int historyIndex(final Alliance alliance,
+									final int move) {
+		return alliance.ordinal() * NUM_FROM_TO +
+			   SearchBoard.getCurrentCoordinate(move) * BoardUtils.NUM_TILES + SearchBoard.getDestinationCoordinate(move);
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public int getFirstKiller(final int ply) { return killers[ply * NUM_KILLERS]; }
+	public int getSecondKiller(final int ply) { return killers[ply * NUM_KILLERS + 1]; }
+	public int getHistory(final Alliance alliance, final int move) { return history[historyIndex(alliance, move)]; }
+}
@@ -0,0 +1,26 @@
+package de.wieland.Chess.engine.player.ai;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Public final class SearchPool.
+ *
+ * The fork-join pool parallel searches run on, with one worker per
+ * available processor. Its threads are daemons, so an idle pool never
+ * keeps the application alive.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class SearchPool {
+	private static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+	private SearchPool() {
+		throw new RuntimeException("You cannot instantiate me!");
+	}
+
+	public static ForkJoinPool get() {
+		return INSTANCE;
+	}
+}
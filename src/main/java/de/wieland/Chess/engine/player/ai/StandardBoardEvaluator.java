@@ -2,9 +2,15 @@ package de.wieland.Chess.engine.player.ai;
 
 import com.google.common.annotations.VisibleForTesting;
 
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.board.BitBoard;
 import de.wieland.Chess.engine.board.Board;
 import de.wieland.Chess.engine.board.Move;
+import de.wieland.Chess.engine.board.PieceSquareTable;
+import de.wieland.Chess.engine.board.SearchBoard;
+import de.wieland.Chess.engine.board.Zobrist;
 import de.wieland.Chess.engine.pieces.Piece;
+import de.wieland.Chess.engine.pieces.PieceType;
 import de.wieland.Chess.engine.player.Player;
 
 /**
@@ -22,9 +28,19 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
 	private static final int ATTACK_MULTIPLIER = 1;
 	private static final int TWO_BISHOPS_BONUS = 25;
 	private static final int DEPTH_BONUS = 100;
+	private static final int PAWN_HASH_ENTRIES = 1 << 14;
+	private static final int MAX_MOBILITY_RATIO = 30;
+	private static final int MAX_ATTACKS = 16;
+	//the most the terms skipped by the lazy evaluation of a side not in check can add up to
+	private static final int LAZY_MARGIN = MAX_MOBILITY_RATIO * MOBILITY_MULTIPLIER + MAX_ATTACKS * ATTACK_MULTIPLIER +
+										   CHECK_BONUS + CASTLE_BONUS;
 	private static final StandardBoardEvaluator INSTANCE = new StandardBoardEvaluator();
 	
-	StandardBoardEvaluator() {}
+	private final PawnStructureEvaluator pawnStructureEvaluator;
+	
+	StandardBoardEvaluator() {
+		pawnStructureEvaluator = new PawnStructureEvaluator(PAWN_HASH_ENTRIES);
+	}
 	
 	public static StandardBoardEvaluator get() {
 		return INSTANCE;
@@ -34,41 +50,95 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
 	public int evaluate(final Board board,
 						final int depth) {
 		return scorePlayer(board, board.getWhitePlayer(), depth) -
-			   scorePlayer(board, board.getBlackPlayer(), depth);
+			   scorePlayer(board, board.getBlackPlayer(), depth) +
+			   pawnStructure(board);
+	}
+	
+	@Override
+	public int evaluate(final SearchBoard board,
+						final int depth) {
+		return materialScore(board) + activityScore(board, depth);
+	}
+	
+	/**
+	 * Lazy evaluation: the material is read from the board and the pawn
+	 * hash table, the activity needs the moves of both sides. Where the
+	 * material alone is further outside the window than the activity can
+	 * move the score, the material is returned. Its king threats are only
+	 * bounded while the side to move is not in check.
+	 */
+	@Override
+	public int evaluate(final SearchBoard board,
+						final int depth,
+						final int highest,
+						final int lowest) {
+		final int materialScore = materialScore(board);
+		
+		if((materialScore + LAZY_MARGIN <= highest || materialScore - LAZY_MARGIN >= lowest) && !board.isInCheck()) {
+			return materialScore;
+		}
+		
+		return materialScore + activityScore(board, depth);
+	}
+	
+	private int materialScore(final SearchBoard board) {
+		final BitBoard bitBoard = board.getBitBoard();
+		
+		return pieceSquareScore(board) +
+			   bishopPair(bitBoard, Alliance.WHITE) -
+			   bishopPair(bitBoard, Alliance.BLACK) +
+			   pawnStructureEvaluator.evaluate(bitBoard, board.getPawnKey());
+	}
+	
+	private static int activityScore(final SearchBoard board,
+									 final int depth) {
+		final int whiteMoves = board.countMoves(Alliance.WHITE);
+		final int blackMoves = board.countMoves(Alliance.BLACK);
+		
+		return scoreAlliance(board, Alliance.WHITE, whiteMoves, blackMoves, depth) -
+			   scoreAlliance(board, Alliance.BLACK, blackMoves, whiteMoves, depth);
+	}
+	
+	private int pawnStructure(final Board board) {
+		return pawnStructureEvaluator.evaluate(board.getBitBoard(), Zobrist.calculatePawnKey(board.getBitBoard()));
 	}
 	
 	@VisibleForTesting
 	private int scorePlayer(final Board board,
 							final Player player,
 							final int depth) {
-		return pieceValue(player) +
+		return pieceValue(board, player) +
 			   mobility(player) +
 			   attacks(player) +
 			   kingThreats(player, depth) + 
 			   castled(player);
 	}
 	
-	private static int pieceValue(final Player player) {
-		int pieceValueScore = 0;
-		
-		int numBishops = 0;
-		for (final Piece piece : player.getActivePieces()) {
-			pieceValueScore += piece.getPieceValue() + piece.locationBonus();
-			
-			if(piece.getPieceType().isBishop()) {
-				numBishops++;
-			}
-		}
+	private static int pieceValue(final Board board,
+								  final Player player) {
+		final BitBoard bitBoard = board.getBitBoard();
+		final int pieceValueScore = PieceSquareTable.taper(PieceSquareTable.calculateScore(bitBoard, player.getAlliance()),
+														   PieceSquareTable.calculatePhase(bitBoard));
 		
-		return pieceValueScore + (numBishops == 2 ? TWO_BISHOPS_BONUS : 0);
+		return pieceValueScore + bishopPair(bitBoard, player.getAlliance());
+	}
+	
+	private static int bishopPair(final BitBoard bitBoard,
+								  final Alliance alliance) {
+		return Long.bitCount(bitBoard.getPieces(alliance, PieceType.BISHOP)) == 2 ? TWO_BISHOPS_BONUS : 0;
 	}
 	
 	private static int mobility(final Player player) {
-		return mobilityRatio(player) * MOBILITY_MULTIPLIER;
+		return mobility(player.getLegalMoves().size(), player.getOpponent().getLegalMoves().size());
 	}
 	
-	private static int mobilityRatio(final Player player) {
-		return (int) ((player.getLegalMoves().size() * 10.0f) / player.getOpponent().getLegalMoves().size());
+	/**
+	 * The ratio is capped, against an opponent with hardly any moves left
+	 * it would grow without bound.
+	 */
+	private static int mobility(final int numMoves,
+								final int numOpponentMoves) {
+		return (int) Math.min((numMoves * 10.0f) / numOpponentMoves, MAX_MOBILITY_RATIO) * MOBILITY_MULTIPLIER;
 	}
 	
 	private static int attacks(final Player player) {
@@ -85,7 +155,7 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
             }
         }
         
-        return attackScore * ATTACK_MULTIPLIER;
+        return Math.min(attackScore, MAX_ATTACKS) * ATTACK_MULTIPLIER;
 	}
 	
 	private static int kingThreats(final Player player,
@@ -105,19 +175,88 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
 		return player.isCastled() ? CASTLE_BONUS : 0;
 	}
 	
+	private static int scoreAlliance(final SearchBoard board,
+									 final Alliance alliance,
+									 final int numMoves,
+									 final int numOpponentMoves,
+									 final int depth) {
+		return mobility(numMoves, numOpponentMoves) +
+			   attacks(board, alliance) +
+			   kingThreats(board, alliance, depth) +
+			   (board.isCastled(alliance) ? CASTLE_BONUS : 0);
+	}
+	
+	/**
+	 * Material and location bonuses are kept up to date by the board as
+	 * moves are made, so they are read instead of summed over the pieces.
+	 * Both sides are subtracted while still packed and the difference is
+	 * blended between middlegame and endgame once.
+	 */
+	private static int pieceSquareScore(final SearchBoard board) {
+		return PieceSquareTable.taper(board.getPieceSquareScore(Alliance.WHITE) - board.getPieceSquareScore(Alliance.BLACK),
+									  board.getPhase());
+	}
+	
+	private static int attacks(final SearchBoard board,
+							   final Alliance alliance) {
+		final BitBoard bitBoard = board.getBitBoard();
+		final long enemies = bitBoard.getAlliancePieces(alliance.getOpponent());
+		int attackScore = 0;
+		
+		for (long pieces = bitBoard.getAlliancePieces(alliance); pieces != 0; pieces &= pieces - 1) {
+			final int coordinate = Long.numberOfTrailingZeros(pieces);
+			final int movedValue = BitBoard.pieceTypeOf(bitBoard.getPieceIndex(coordinate)).getPieceValue();
+			
+			for (long targets = bitBoard.getAttacks(coordinate) & enemies; targets != 0; targets &= targets - 1) {
+				final int attackedIndex = bitBoard.getPieceIndex(Long.numberOfTrailingZeros(targets));
+				
+				if(movedValue <= BitBoard.pieceTypeOf(attackedIndex).getPieceValue()) {
+					attackScore++;
+				}
+			}
+		}
+		
+		//en passant captures are pawn takes pawn and always count
+		if(board.getMoveMaker() == alliance && board.getEnPassantCoordinate() != SearchBoard.NO_EN_PASSANT) {
+			final long enPassantTile = 1L << board.getEnPassantCoordinate();
+			
+			for (long pawns = bitBoard.getPieces(alliance, PieceType.PAWN); pawns != 0; pawns &= pawns - 1) {
+				if((BitBoard.pawnAttacksFrom(alliance, Long.numberOfTrailingZeros(pawns)) & enPassantTile) != 0) {
+					attackScore++;
+				}
+			}
+		}
+		
+		return Math.min(attackScore, MAX_ATTACKS) * ATTACK_MULTIPLIER;
+	}
+	
+	private static int kingThreats(final SearchBoard board,
+								   final Alliance alliance,
+								   final int depth) {
+		final Alliance opponent = alliance.getOpponent();
+		
+		if(!board.isInCheck(opponent)) {
+			return 0;
+		}
+		
+		return board.getMoveMaker() == opponent && !board.hasLegalMoves() ? CHECKMATE_BONUS * depthBonus(depth) : CHECK_BONUS;
+	}
+	
 	public String evaluationDetails(final Board board,
 									final int depth) {
 		return ("White Mobility : " + mobility(board.getWhitePlayer()) + "\n") +
                 "White kingThreats : " + kingThreats(board.getWhitePlayer(), depth) + "\n" +
                 "White attacks : " + attacks(board.getWhitePlayer()) + "\n" +
                 "White castle : " + castled(board.getWhitePlayer()) + "\n" +
-                "White pieceEval : " + pieceValue(board.getWhitePlayer()) + "\n" +
+                "White pieceEval : " + pieceValue(board, board.getWhitePlayer()) + "\n" +
                 "---------------------\n" +
                 "Black Mobility : " + mobility(board.getBlackPlayer()) + "\n" +
                 "Black kingThreats : " + kingThreats(board.getBlackPlayer(), depth) + "\n" +
                 "Black attacks : " + attacks(board.getBlackPlayer()) + "\n" +
                 "Black castle : " + castled(board.getBlackPlayer()) + "\n" +
-                "Black pieceEval : " + pieceValue(board.getBlackPlayer()) + "\n" +
+                "Black pieceEval : " + pieceValue(board, board.getBlackPlayer()) + "\n" +
+                "---------------------\n" +
+                "Pawn structure : " + pawnStructure(board) + "\n" +
                 "Final Score = " + evaluate(board, depth);
 	}
 }
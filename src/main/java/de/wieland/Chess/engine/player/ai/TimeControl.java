@@ -0,0 +1,86 @@
+package de.wieland.Chess.engine.player.ai;
+
+/**
+ * Public final class TimeControl.
+ *
+ * Decides how much wall-clock time the AI may spend on its next move.
+ * Either every move gets the same fixed budget, or the time is taken from
+ * a clock that is refilled by an increment after every move.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class TimeControl {
+	private static final int MOVES_TO_GO = 30;
+	private static final long MINIMUM_MOVE_TIME = 10;
+
+	private final long moveTime;
+	private final long increment;
+	private final boolean isClock;
+	private long remainingTime;
+
+	private TimeControl(final long moveTime,
+						final long remainingTime,
+						final long increment,
+						final boolean isClock) {
+		this.moveTime = moveTime;
+		this.remainingTime = remainingTime;
+		this.increment = increment;
+		this.isClock = isClock;
+	}
+
+	public static TimeControl perMove(final long moveTimeMillis) {
+		if(moveTimeMillis <= 0) {
+			throw new IllegalArgumentException("Move time must be positive: " + moveTimeMillis + " ms");
+		}
+
+		return new TimeControl(moveTimeMillis, 0, 0, false);
+	}
+
+	public static TimeControl clock(final long timeMillis,
+									final long incrementMillis) {
+		if(timeMillis <= 0 || incrementMillis < 0) {
+			throw new IllegalArgumentException("Invalid clock: " + timeMillis + " ms + " + incrementMillis + " ms");
+		}
+
+		return new TimeControl(0, timeMillis, incrementMillis, true);
+	}
+
+	/**
+	 * Returns the time in milliseconds the next move may take. On a clock
+	 * this is an even share of the remaining time plus most of the
+	 * increment, but never more than half of what is left.
+	 */
+	public long allocateTime() {
+		if(!isClock) {
+			return moveTime;
+		}
+
+		final long share = remainingTime / MOVES_TO_GO + increment * 3 / 4;
+
+		return Math.max(MINIMUM_MOVE_TIME, Math.min(share, remainingTime / 2));
+	}
+
+	/**
+	 * Charges the time used for a move to the clock and adds the
+	 * increment. Has no effect for a fixed time per move.
+	 */
+	public void moveMade(final long timeUsedMillis) {
+		if(isClock) {
+			remainingTime = Math.max(0, remainingTime - timeUsedMillis) + increment;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return isClock ? "clock " + remainingTime + " ms + " + increment + " ms" : moveTime + " ms per move";
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public long getRemainingTime() { return remainingTime; }
+	public long getIncrement() { return increment; }
+	public boolean isClock() { return isClock; }
+}
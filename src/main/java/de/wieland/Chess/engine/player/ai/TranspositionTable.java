@@ -0,0 +1,155 @@
+package de.wieland.Chess.engine.player.ai;
+
+/**
+ * Public final class TranspositionTable.
+ *
+ * Fixed-size cache of search results keyed by the Zobrist key of a
+ * position. The table is split into buckets of two entries: the first is
+ * only replaced by a result of equal or greater depth or from an older
+ * search, the second always takes the newest result. Each entry packs
+ * best move, score, depth, bound type and search age into one long and
+ * is stored next to its key xor that long, so a torn write from another
+ * thread reads as a miss instead of a wrong hit.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public final class TranspositionTable {
+	public static final long NO_ENTRY = 0;
+	public static final int EXACT = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int UPPER_BOUND = 3;
+
+	private static final int ENTRY_BYTES = 2 * Long.BYTES;
+	private static final int BUCKET_SIZE = 2;
+	//keeps the number of entries a valid array length
+	private static final int MAX_BUCKETS = 1 << 29;
+
+	private static final int MOVE_BITS = 24;
+	private static final int SCORE_BITS = 26;
+	private static final int DEPTH_BITS = 8;
+	private static final int BOUND_BITS = 2;
+	private static final int AGE_BITS = 4;
+	private static final int SCORE_SHIFT = MOVE_BITS;
+	private static final int DEPTH_SHIFT = SCORE_SHIFT + SCORE_BITS;
+	private static final int BOUND_SHIFT = DEPTH_SHIFT + DEPTH_BITS;
+	private static final int AGE_SHIFT = BOUND_SHIFT + BOUND_BITS;
+	private static final int MAX_SCORE = (1 << (SCORE_BITS - 1)) - 1;
+
+	private final int sizeInMB;
+	private final int bucketMask;
+	private final long[] keys;
+	private final long[] entries;
+	private int age;
+
+	public TranspositionTable(final int sizeInMB) {
+		if(sizeInMB <= 0) {
+			throw new IllegalArgumentException("Transposition table size must be positive: " + sizeInMB + " MB");
+		}
+
+		this.sizeInMB = sizeInMB;
+		this.bucketMask = numBuckets(sizeInMB) - 1;
+		this.keys = new long[(bucketMask + 1) * BUCKET_SIZE];
+		this.entries = new long[keys.length];
+		this.age = 0;
+	}
+
+	/**
+	 * Returns the packed entry stored for the key, or NO_ENTRY. The parts
+	 * are read with the static getters.
+	 */
+	public long probe(final long key) {
+		final int index = bucketIndex(key);
+
+		for (int i = index; i < index + BUCKET_SIZE; i++) {
+			final long entry = entries[i];
+
+			if((keys[i] ^ entry) == key && entry != NO_ENTRY) {
+				return entry;
+			}
+		}
+
+		return NO_ENTRY;
+	}
+
+	public void store(final long key,
+					  final int move,
+					  final int score,
+					  final int depth,
+					  final int bound) {
+		final int index = bucketIndex(key);
+		final long depthPreferred = entries[index];
+		final long entry = packEntry(move, score, depth, bound, age);
+
+		if((keys[index] ^ depthPreferred) == key ||
+		   getAge(depthPreferred) != age ||
+		   depth >= getDepth(depthPreferred)) {
+			keys[index] = key ^ entry;
+			entries[index] = entry;
+		} else {
+			keys[index + 1] = key ^ entry;
+			entries[index + 1] = entry;
+		}
+	}
+
+	/**
+	 * Marks the start of a new search. Entries of earlier searches stay
+	 * usable but give way to new results in the depth-preferred slot.
+	 */
+	public void newSearch() {
+		age = (age + 1) & ((1 << AGE_BITS) - 1);
+	}
+
+	public void clear() {
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = 0;
+			entries[i] = NO_ENTRY;
+		}
+
+		age = 0;
+	}
+
+	/**
+	 * Returns the largest power of two of buckets that fits into the size.
+	 */
+	static int numBuckets(final int sizeInMB) {
+		final long numBuckets = Long.highestOneBit(((long) sizeInMB << 20) / (ENTRY_BYTES * BUCKET_SIZE));
+
+		return (int) Math.min(numBuckets, MAX_BUCKETS);
+	}
+
+	private int bucketIndex(final long key) {
+		return ((int) key & bucketMask) * BUCKET_SIZE;
+	}
+
+	private static long packEntry(final int move,
+								  final int score,
+								  final int depth,
+								  final int bound,
+								  final int age) {
+		final int clampedScore = Math.max(-MAX_SCORE, Math.min(MAX_SCORE, score));
+
+		return (move & ((1L << MOVE_BITS) - 1)) |
+			   ((clampedScore & ((1L << SCORE_BITS) - 1)) << SCORE_SHIFT) |
+			   ((long) depth << DEPTH_SHIFT) |
+			   ((long) bound << BOUND_SHIFT) |
+			   ((long) age << AGE_SHIFT);
+	}
+
+	@Override
+	public String toString() {
+		return "TranspositionTable [" + sizeInMB + " MB, " + keys.length + " entries]";
+	}
+
+	/**
+	 * Getter and Setter methods.
+	 */
+	public static int getMove(final long entry) { return (int) (entry & ((1L << MOVE_BITS) - 1)); }
+	public static int getScore(final long entry) { return (int) ((entry << (Long.SIZE - DEPTH_SHIFT)) >> (Long.SIZE - SCORE_BITS)); }
+	public static int getDepth(final long entry) { return (int) (entry >>> DEPTH_SHIFT) & ((1 << DEPTH_BITS) - 1); }
+	public static int getBound(final long entry) { return (int) (entry >>> BOUND_SHIFT) & ((1 << BOUND_BITS) - 1); }
+	private static int getAge(final long entry) { return (int) (entry >>> AGE_SHIFT); }
+	public int getSizeInMB() { return sizeInMB; }
+	public int getNumEntries() { return keys.length; }
+}
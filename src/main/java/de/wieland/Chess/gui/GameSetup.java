@@ -17,6 +17,7 @@ import javax.swing.SpinnerNumberModel;
 import de.wieland.Chess.engine.Alliance;
 import de.wieland.Chess.engine.player.Player;
 import de.wieland.Chess.engine.player.PlayerType;
+import de.wieland.Chess.engine.player.ai.AlphaBeta;
 
 /**
  * Public class GameSetup.
@@ -30,6 +31,8 @@ public class GameSetup extends JDialog {
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
     private JSpinner searchDepthSpinner;
+    private JSpinner hashSizeSpinner;
+    private JSpinner moveTimeSpinner;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
@@ -63,7 +66,9 @@ public class GameSetup extends JDialog {
         myPanel.add(blackComputerButton);
 
         myPanel.add(new JLabel("Search"));
-        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(6, 0, Integer.MAX_VALUE, 1));
+        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(6, 1, Integer.MAX_VALUE, 1));
+        this.moveTimeSpinner = addLabeledSpinner(myPanel, "Time per Move (s)", new SpinnerNumberModel(5, 1, 3600, 1));
+        this.hashSizeSpinner = addLabeledSpinner(myPanel, "Hash Size (MB)", new SpinnerNumberModel(AlphaBeta.DEFAULT_TABLE_SIZE_MB, 1, 4096, 16));
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -112,6 +117,8 @@ public class GameSetup extends JDialog {
      * Getter and Setter methods.
      */
     int getSearchDepth() { return (Integer)this.searchDepthSpinner.getValue(); }
+    int getHashSize() { return (Integer)this.hashSizeSpinner.getValue(); }
+    int getMoveTime() { return (Integer)this.moveTimeSpinner.getValue(); }
     PlayerType getWhitePlayerType() { return this.whitePlayerType; }
     PlayerType getBlackPlayerType() { return this.blackPlayerType; }
 }
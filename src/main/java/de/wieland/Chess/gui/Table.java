@@ -47,9 +47,12 @@ import de.wieland.Chess.engine.board.Move.MoveFactory;
 import de.wieland.Chess.engine.board.Tile;
 import de.wieland.Chess.engine.pieces.Piece;
 import de.wieland.Chess.engine.player.PlayerType;
-import de.wieland.Chess.engine.player.ai.MiniMax;
+import de.wieland.Chess.engine.player.ai.IterativeDeepening;
 import de.wieland.Chess.engine.player.ai.MoveStrategy;
+import de.wieland.Chess.engine.player.ai.SearchPool;
 import de.wieland.Chess.engine.player.ai.StandardBoardEvaluator;
+import de.wieland.Chess.engine.player.ai.TimeControl;
+import de.wieland.Chess.engine.player.ai.TranspositionTable;
 
 import static javax.swing.JFrame.setDefaultLookAndFeelDecorated;
 
@@ -74,6 +77,7 @@ public class Table extends Observable {
   private final MoveLog moveLog;
   private final GameSetup gameSetup;
   private Board chessBoard;
+  private TranspositionTable transpositionTable;
 
   private Move computerMove;
   private Tile sourceTile;
@@ -359,6 +363,13 @@ public class Table extends Observable {
     return gameSetup;
   }
 
+  private TranspositionTable getTranspositionTable() {
+    if (transpositionTable == null || transpositionTable.getSizeInMB() != gameSetup.getHashSize()) {
+      transpositionTable = new TranspositionTable(gameSetup.getHashSize());
+    }
+    return transpositionTable;
+  }
+
 
   /**
    * Private static class TableGameAIWatcher.
@@ -412,10 +423,13 @@ public class Table extends Observable {
 
     @Override
     protected Move doInBackground() throws Exception {
-      final MoveStrategy miniMax = new MiniMax(Table.get().getGameSetup().getSearchDepth());
-      ((Observable) miniMax).addObserver(Table.get().getDebugPanel());
+      final MoveStrategy iterativeDeepening = new IterativeDeepening(Table.get().getGameSetup().getSearchDepth(),
+          Table.get().getTranspositionTable(),
+          TimeControl.perMove(Table.get().getGameSetup().getMoveTime() * 1000L),
+          SearchPool.get());
+      ((Observable) iterativeDeepening).addObserver(Table.get().getDebugPanel());
 
-      return miniMax.execute(Table.get().getGameBoard());
+      return iterativeDeepening.execute(Table.get().getGameBoard());
     }
 
     @Override
@@ -716,9 +730,7 @@ public class Table extends Observable {
           .getAlliance()) {
         // return a list of all the legal moves + the castle moves
         return ImmutableList.copyOf(Iterables.concat(humanMovedPiece.calculateLegalMoves(board),
-            chessBoard.getCurrentPlayer()
-                .calculateKingCastles(chessBoard.getCurrentPlayer().getLegalMoves(),
-                    chessBoard.getCurrentPlayer().getOpponent().getLegalMoves())));
+            chessBoard.getCurrentPlayer().calculateKingCastles()));
       }
 
       return Collections.emptyList();
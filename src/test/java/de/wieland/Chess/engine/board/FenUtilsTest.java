@@ -0,0 +1,73 @@
+package de.wieland.Chess.engine.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.pieces.PieceType;
+import org.junit.Test;
+
+/**
+ * Public class FenUtilsTest.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class FenUtilsTest {
+
+	@Test
+	public void testStandardBoard() {
+		final Board board = FenUtils.createBoardFromFen(FenUtils.STANDARD_START_POSITION);
+
+		assertEquals(FenUtils.STANDARD_START_POSITION, FenUtils.createFenFromBoard(Board.createStandardBoard()));
+		assertEquals(Board.createStandardBoard().getZobristKey(), board.getZobristKey());
+		assertEquals(Alliance.WHITE, board.getCurrentPlayer().getAlliance());
+	}
+
+	@Test
+	public void testRoundTrip() {
+		final String[] fens = {
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+			"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+			"rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b Kq e3 0 1",
+		};
+
+		for (final String fen : fens) {
+			assertEquals(fen, FenUtils.createFenFromBoard(FenUtils.createBoardFromFen(fen)));
+		}
+	}
+
+	@Test
+	public void testCastlingRights() {
+		final Board board = FenUtils.createBoardFromFen("r3k2r/8/8/8/8/8/8/R3K2R b Kq - 0 1");
+
+		assertTrue(board.getPiece(63).isFirstMove());
+		assertFalse(board.getPiece(56).isFirstMove());
+		assertFalse(board.getPiece(7).isFirstMove());
+		assertTrue(board.getPiece(0).isFirstMove());
+		assertEquals(SearchBoard.WHITE_KING_SIDE_CASTLE | SearchBoard.BLACK_QUEEN_SIDE_CASTLE,
+					 SearchBoard.calculateCastlingRights(board));
+	}
+
+	@Test
+	public void testEnPassantPawn() {
+		final Board board = FenUtils.createBoardFromFen("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+
+		assertEquals(36, board.getEnPassantPawn().getPiecePosition());
+		assertEquals(PieceType.PAWN, board.getEnPassantPawn().getPieceType());
+		assertEquals(Alliance.WHITE, board.getEnPassantPawn().getPieceAlliance());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPiece() {
+		FenUtils.createBoardFromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX w KQkq - 0 1");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingRank() {
+		FenUtils.createBoardFromFen("rnbqkbnr/pppppppp/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+	}
+}
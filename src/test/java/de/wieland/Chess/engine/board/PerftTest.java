@@ -0,0 +1,192 @@
+package de.wieland.Chess.engine.board;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import de.wieland.Chess.engine.Alliance;
+
+/**
+ * Public class PerftTest.
+ *
+ * Compares the perft counts of the standard test positions with the
+ * published values. The immutable Board is slow, so it is only counted to
+ * a small depth, the SearchBoard a ply or two deeper.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class PerftTest {
+	private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+	private static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+	private static final String POSITION_4 = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+	private static final String POSITION_4_MIRRORED = "r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1";
+	private static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+	private static final String EN_PASSANT = "8/8/8/3k4/2pP4/8/B7/4K3 b - d3 0 1";
+
+	@Test
+	public void testStartPosition() {
+		final Board board = Board.createStandardBoard();
+
+		assertEquals(20, Perft.perft(board, 1));
+		assertEquals(400, Perft.perft(board, 2));
+		assertEquals(8902, Perft.perft(board, 3));
+		assertEquals(197281, Perft.perft(new SearchBoard(board), 4));
+		assertEquals(4865609, Perft.perft(new SearchBoard(board), 5));
+	}
+
+	@Test
+	public void testKiwipete() {
+		final Board board = FenUtils.createBoardFromFen(KIWIPETE);
+
+		assertEquals(48, Perft.perft(board, 1));
+		assertEquals(2039, Perft.perft(board, 2));
+		assertEquals(97862, Perft.perft(new SearchBoard(board), 3));
+		assertEquals(4085603, Perft.perft(new SearchBoard(board), 4));
+	}
+
+	@Test
+	public void testPosition3() {
+		final Board board = FenUtils.createBoardFromFen(POSITION_3);
+
+		assertEquals(14, Perft.perft(board, 1));
+		assertEquals(191, Perft.perft(board, 2));
+		assertEquals(2812, Perft.perft(board, 3));
+		assertEquals(43238, Perft.perft(new SearchBoard(board), 4));
+		assertEquals(674624, Perft.perft(new SearchBoard(board), 5));
+	}
+
+	@Test
+	public void testPosition4() {
+		final Board board = FenUtils.createBoardFromFen(POSITION_4);
+
+		assertEquals(6, Perft.perft(board, 1));
+		assertEquals(264, Perft.perft(board, 2));
+		assertEquals(9467, Perft.perft(board, 3));
+		assertEquals(422333, Perft.perft(new SearchBoard(board), 4));
+	}
+
+	@Test
+	public void testPosition4Mirrored() {
+		final Board board = FenUtils.createBoardFromFen(POSITION_4_MIRRORED);
+
+		assertEquals(6, Perft.perft(board, 1));
+		assertEquals(264, Perft.perft(board, 2));
+		assertEquals(9467, Perft.perft(board, 3));
+		assertEquals(422333, Perft.perft(new SearchBoard(board), 4));
+	}
+
+	@Test
+	public void testEnPassantPinnedAlongDiagonal() {
+		final Board board = FenUtils.createBoardFromFen(EN_PASSANT);
+
+		assertEquals(5, Perft.perft(board, 1));
+		assertEquals(5, Perft.perft(new SearchBoard(board), 1));
+	}
+
+	@Test
+	public void testPosition5() {
+		final Board board = FenUtils.createBoardFromFen(POSITION_5);
+
+		assertEquals(44, Perft.perft(board, 1));
+		assertEquals(1486, Perft.perft(board, 2));
+		assertEquals(62379, Perft.perft(new SearchBoard(board), 3));
+		assertEquals(2103487, Perft.perft(new SearchBoard(board), 4));
+	}
+
+	@Test
+	public void testDivideAddsUpToPerft() {
+		final Board board = FenUtils.createBoardFromFen(KIWIPETE);
+		final long boardTotal = Perft.divide(board, 2).values().stream().mapToLong(Long::longValue).sum();
+		final long searchBoardTotal = Perft.divide(new SearchBoard(board), 3).values().stream().mapToLong(Long::longValue).sum();
+
+		assertEquals(48, Perft.divide(board, 2).size());
+		assertEquals(2039, boardTotal);
+		assertEquals(97862, searchBoardTotal);
+	}
+
+	@Test
+	public void testCapturesAndQuietsSplitTheMoves() {
+		for (final String fen : new String[] {KIWIPETE, POSITION_3, POSITION_4, POSITION_5, EN_PASSANT}) {
+			checkMoveSplit(new SearchBoard(FenUtils.createBoardFromFen(fen)), 3);
+		}
+	}
+
+	@Test
+	public void testEncodedMovesMatchBoardMoves() {
+		for (final String fen : new String[] {KIWIPETE, POSITION_3, POSITION_4, POSITION_5, EN_PASSANT}) {
+			final Board board = FenUtils.createBoardFromFen(fen);
+			final SearchBoard searchBoard = new SearchBoard(board);
+			final int[] moves = new int[SearchBoard.MAX_MOVES];
+			final int numMoves = searchBoard.generateMoves(moves);
+
+			for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+				final int encodedMove = SearchBoard.encodeMove(move);
+				final boolean isGenerated = Arrays.stream(moves, 0, numMoves).anyMatch(generatedMove -> generatedMove == encodedMove);
+
+				assertEquals(board.getCurrentPlayer().makeMove(move).getMoveStatus().isDone(), isGenerated);
+				assertEquals(isGenerated, searchBoard.isLegal(encodedMove));
+				assertEquals(move, SearchBoard.decodeMove(board, encodedMove));
+			}
+		}
+	}
+
+	@Test
+	public void testIncrementalStateFollowsMoves() {
+		for (final String fen : new String[] {KIWIPETE, POSITION_4, POSITION_5}) {
+			checkIncrementalState(new SearchBoard(FenUtils.createBoardFromFen(fen)), 3);
+		}
+	}
+
+	private static void checkMoveSplit(final SearchBoard board,
+									   final int depth) {
+		final int[] moves = new int[SearchBoard.MAX_MOVES];
+		final int[] captures = new int[SearchBoard.MAX_MOVES];
+		final int[] quiets = new int[SearchBoard.MAX_MOVES];
+		final int numMoves = board.generateMoves(moves);
+		final int numCaptures = board.generateCaptures(captures);
+		final int numQuiets = board.generateQuiets(quiets);
+		final int[] split = new int[numCaptures + numQuiets];
+		System.arraycopy(captures, 0, split, 0, numCaptures);
+		System.arraycopy(quiets, 0, split, numCaptures, numQuiets);
+		final int[] sortedMoves = Arrays.copyOf(moves, numMoves);
+		Arrays.sort(sortedMoves);
+		Arrays.sort(split);
+
+		assertArrayEquals(sortedMoves, split);
+
+		for (int i = 0; i < numMoves; i++) {
+			assertTrue(board.isLegal(moves[i]));
+		}
+
+		for (int i = 0; i < numMoves && depth > 1; i++) {
+			board.makeMove(moves[i]);
+			checkMoveSplit(board, depth - 1);
+			board.unmakeMove();
+		}
+	}
+
+	private static void checkIncrementalState(final SearchBoard board,
+											  final int depth) {
+		for (final Alliance alliance : Alliance.values()) {
+			assertEquals(PieceSquareTable.calculateScore(board.getBitBoard(), alliance), board.getPieceSquareScore(alliance));
+		}
+
+		assertEquals(Zobrist.calculatePawnKey(board.getBitBoard()), board.getPawnKey());
+		assertEquals(PieceSquareTable.calculatePhase(board.getBitBoard()), board.getPhase());
+
+		final int[] moves = new int[SearchBoard.MAX_MOVES];
+		final int numMoves = depth > 0 ? board.generateMoves(moves) : 0;
+
+		for (int i = 0; i < numMoves; i++) {
+			board.makeMove(moves[i]);
+			checkIncrementalState(board, depth - 1);
+			board.unmakeMove();
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package de.wieland.Chess.engine.board;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import de.wieland.Chess.engine.Alliance;
+
+/**
+ * Public class PieceSquareTableTest.
+ *
+ * Checks that both halves of a packed score survive packing, sums and
+ * differences for either sign, that the taper picks the right half at
+ * the ends of the game, and that the scores kept by the SearchBoard
+ * match fresh ones after moves are made and taken back.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class PieceSquareTableTest {
+	//sums of two of them still fit into a half, as the scores of the two sides do
+	private static final int[] HALVES = {0, 1, -1, 5, -5, 345, -345, 10000, -10000, 16000, -16000};
+	private static final String POSITION_4 = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+	private static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+
+	@Test
+	public void testPacking() {
+		for (final int middleGame : HALVES) {
+			for (final int endGame : HALVES) {
+				final int score = PieceSquareTable.pack(middleGame, endGame);
+
+				assertEquals(middleGame, PieceSquareTable.middleGame(score));
+				assertEquals(endGame, PieceSquareTable.endGame(score));
+			}
+		}
+	}
+
+	@Test
+	public void testPackedArithmetic() {
+		for (final int first : HALVES) {
+			for (final int second : HALVES) {
+				final int sum = PieceSquareTable.pack(first, second) + PieceSquareTable.pack(second, first);
+				final int difference = PieceSquareTable.pack(first, -second) - PieceSquareTable.pack(second, first);
+
+				assertEquals(first + second, PieceSquareTable.middleGame(sum));
+				assertEquals(second + first, PieceSquareTable.endGame(sum));
+				assertEquals(first - second, PieceSquareTable.middleGame(difference));
+				assertEquals(-second - first, PieceSquareTable.endGame(difference));
+			}
+		}
+	}
+
+	@Test
+	public void testTaper() {
+		final int score = PieceSquareTable.pack(120, -80);
+
+		assertEquals(-80, PieceSquareTable.taper(score, 0));
+		assertEquals(20, PieceSquareTable.taper(score, PieceSquareTable.MAX_PHASE / 2));
+		assertEquals(120, PieceSquareTable.taper(score, PieceSquareTable.MAX_PHASE));
+		assertEquals(120, PieceSquareTable.taper(score, PieceSquareTable.MAX_PHASE + 8));
+	}
+
+	@Test
+	public void testPhase() {
+		assertEquals(PieceSquareTable.MAX_PHASE, PieceSquareTable.calculatePhase(Board.createStandardBoard().getBitBoard()));
+		assertEquals(0, PieceSquareTable.calculatePhase(FenUtils.createBoardFromFen("4k3/pppp4/8/8/8/8/4PPPP/4K3 w - - 0 1").getBitBoard()));
+	}
+
+	@Test
+	public void testIncrementalScores() {
+		checkMoveSequence(new SearchBoard(FenUtils.createBoardFromFen(POSITION_4)), 40);
+		checkMoveSequence(new SearchBoard(FenUtils.createBoardFromFen(POSITION_5)), 40);
+	}
+
+	/**
+	 * Makes and takes back every move of each position along a line of
+	 * the given length, then follows one of them to the next position.
+	 */
+	private static void checkMoveSequence(final SearchBoard board,
+										  final int length) {
+		final int[] moves = new int[SearchBoard.MAX_MOVES];
+
+		for (int ply = 0; ply < length; ply++) {
+			final int numMoves = board.generateMoves(moves);
+
+			if(numMoves == 0) {
+				return;
+			}
+
+			final int whiteScore = board.getPieceSquareScore(Alliance.WHITE);
+			final int blackScore = board.getPieceSquareScore(Alliance.BLACK);
+			final int phase = board.getPhase();
+
+			for (int i = 0; i < numMoves; i++) {
+				board.makeMove(moves[i]);
+				assertScoresAreFresh(board);
+				board.unmakeMove();
+
+				assertEquals(whiteScore, board.getPieceSquareScore(Alliance.WHITE));
+				assertEquals(blackScore, board.getPieceSquareScore(Alliance.BLACK));
+				assertEquals(phase, board.getPhase());
+			}
+
+			board.makeMove(moves[(ply * 7) % numMoves]);
+		}
+	}
+
+	private static void assertScoresAreFresh(final SearchBoard board) {
+		for (final Alliance alliance : Alliance.values()) {
+			assertEquals(PieceSquareTable.calculateScore(board.getBitBoard(), alliance), board.getPieceSquareScore(alliance));
+		}
+
+		assertEquals(PieceSquareTable.calculatePhase(board.getBitBoard()), board.getPhase());
+	}
+}
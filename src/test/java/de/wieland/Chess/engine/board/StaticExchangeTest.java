@@ -0,0 +1,56 @@
+package de.wieland.Chess.engine.board;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import de.wieland.Chess.engine.board.Move.MoveFactory;
+
+/**
+ * Public class StaticExchangeTest.
+ *
+ * Plays out the exchanges on the destination of a capture, including
+ * sliders that join in behind other pieces and pawns that promote as
+ * they recapture.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class StaticExchangeTest {
+
+	@Test
+	public void testUndefendedPawn() {
+		assertEquals(100, staticExchange("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1", "e5"));
+	}
+
+	@Test
+	public void testEvenTrade() {
+		assertEquals(0, staticExchange("4k3/8/4p3/3p4/4P3/8/8/4K3 w - - 0 1", "e4", "d5"));
+	}
+
+	@Test
+	public void testDefendedPawn() {
+		assertEquals(-800, staticExchange("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1", "d1", "d5"));
+	}
+
+	@Test
+	public void testXRays() {
+		assertEquals(-200, staticExchange("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3", "e5"));
+	}
+
+	@Test
+	public void testPromotingRecapture() {
+		//the pawn takes the rook and promotes, so the knight was not worth it
+		assertEquals(-1000, staticExchange("7k/8/8/8/8/7K/4p3/R2n4 w - - 0 1", "a1", "d1"));
+	}
+
+	private static int staticExchange(final String fen,
+									  final String currentPosition,
+									  final String destinationPosition) {
+		final Board board = FenUtils.createBoardFromFen(fen);
+
+		return MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(currentPosition),
+									  BoardUtils.getCoordinateAtPosition(destinationPosition)).staticExchange();
+	}
+}
@@ -0,0 +1,108 @@
+package de.wieland.Chess.engine.player.ai;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import de.wieland.Chess.engine.board.Board;
+import de.wieland.Chess.engine.board.FenUtils;
+import de.wieland.Chess.engine.board.Move;
+
+/**
+ * Public class AlphaBetaTest.
+ *
+ * Pruning, the transposition table and the move ordering must not change
+ * the result of a search, so AlphaBeta has to find the move and score
+ * MiniMax finds by looking at every board. Searching the root moves in
+ * parallel or starting with another root move must not change it either.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class AlphaBetaTest {
+	private static final String SCHOLARS_MATE = "r1bqkbnr/pppp1ppp/2n5/4p3/2B1P3/5Q2/PPPP1PPP/RNB1K1NR w KQkq - 2 3";
+	private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+	private static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+	private static final String POSITION_4_MIRRORED = "r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1";
+
+	@Test
+	public void testStartPosition() {
+		assertSameResult(Board.createStandardBoard(), 3);
+	}
+
+	@Test
+	public void testMateInOne() {
+		assertSameResult(FenUtils.createBoardFromFen(SCHOLARS_MATE), 3);
+	}
+
+	@Test
+	public void testEndgame() {
+		assertSameResult(FenUtils.createBoardFromFen(POSITION_3), 3);
+	}
+
+	@Test
+	public void testBlackToMove() {
+		assertSameResult(FenUtils.createBoardFromFen(POSITION_4_MIRRORED), 2);
+	}
+
+	@Test
+	public void testParallelSearch() {
+		assertSameParallelResult(Board.createStandardBoard(), 4);
+		assertSameParallelResult(FenUtils.createBoardFromFen(KIWIPETE), 3);
+		assertSameParallelResult(FenUtils.createBoardFromFen(POSITION_4_MIRRORED), 3);
+	}
+
+	@Test
+	public void testFirstMove() {
+		assertSameFirstMoveResult(Board.createStandardBoard(), 4);
+		assertSameFirstMoveResult(FenUtils.createBoardFromFen(KIWIPETE), 3);
+		assertSameFirstMoveResult(FenUtils.createBoardFromFen(POSITION_4_MIRRORED), 3);
+	}
+
+	private static void assertSameResult(final Board board,
+										 final int depth) {
+		final MiniMax miniMax = new MiniMax(depth);
+		final AlphaBeta alphaBeta = new AlphaBeta(depth, new TranspositionTable(1));
+		final Move miniMaxMove = miniMax.execute(board);
+		final Move alphaBetaMove = alphaBeta.execute(board);
+
+		assertEquals(miniMax.getBestValue(), alphaBeta.getBestValue());
+		assertEquals(miniMaxMove, alphaBetaMove);
+	}
+
+	private static void assertSameParallelResult(final Board board,
+												 final int depth) {
+		final AlphaBeta sequential = new AlphaBeta(depth, new TranspositionTable(1), Long.MAX_VALUE, null);
+		final AlphaBeta parallel = new AlphaBeta(depth, new TranspositionTable(1), Long.MAX_VALUE, SearchPool.get());
+		final Move sequentialMove = sequential.execute(board);
+		final Move parallelMove = parallel.execute(board);
+
+		assertEquals(sequential.getBestValue(), parallel.getBestValue());
+		assertEquals(sequentialMove, parallelMove);
+	}
+
+	/**
+	 * Starts with the last generated root move, which is searched first
+	 * and becomes the eldest brother of the parallel search.
+	 */
+	private static void assertSameFirstMoveResult(final Board board,
+												  final int depth) {
+		Move firstMove = null;
+
+		for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+			firstMove = move;
+		}
+
+		final AlphaBeta alphaBeta = new AlphaBeta(depth, new TranspositionTable(1));
+		final AlphaBeta sequential = new AlphaBeta(depth, new TranspositionTable(1), Long.MAX_VALUE, null, true, firstMove);
+		final AlphaBeta parallel = new AlphaBeta(depth, new TranspositionTable(1), Long.MAX_VALUE, SearchPool.get(), true, firstMove);
+		alphaBeta.execute(board);
+		final Move sequentialMove = sequential.execute(board);
+		final Move parallelMove = parallel.execute(board);
+
+		assertEquals(alphaBeta.getBestValue(), sequential.getBestValue());
+		assertEquals(sequential.getBestValue(), parallel.getBestValue());
+		assertEquals(sequentialMove, parallelMove);
+	}
+}
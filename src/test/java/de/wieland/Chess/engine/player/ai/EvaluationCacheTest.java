@@ -0,0 +1,74 @@
+package de.wieland.Chess.engine.player.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.wieland.Chess.engine.Alliance;
+import de.wieland.Chess.engine.board.FenUtils;
+import de.wieland.Chess.engine.board.SearchBoard;
+
+/**
+ * Public class EvaluationCacheTest.
+ *
+ * The cache must return the score the wrapped evaluator gives, also for
+ * positions whose Zobrist keys are equal although they are evaluated
+ * differently.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class EvaluationCacheTest {
+	private static final String CASTLING = "r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1";
+
+	@Test
+	public void testCastledPositions() {
+		final SearchBoard castled = play(CASTLING, "e1g1", "a8b8", "f1f2", "b8a8", "f2f1", "a8b8");
+		final SearchBoard walked = play(CASTLING, "h1f1", "a8b8", "e1f2", "b8a8", "f2g1", "a8b8");
+		final BoardEvaluator boardEvaluator = StandardBoardEvaluator.get();
+		final EvaluationCache evaluationCache = new EvaluationCache(boardEvaluator, 1 << 10);
+
+		assertEquals(castled.getZobristKey(), walked.getZobristKey());
+		assertTrue(castled.isCastled(Alliance.WHITE));
+		assertFalse(walked.isCastled(Alliance.WHITE));
+		assertEquals(boardEvaluator.evaluate(castled, 0), evaluationCache.evaluate(castled, 0));
+		assertEquals(boardEvaluator.evaluate(walked, 0), evaluationCache.evaluate(walked, 0));
+		assertEquals(2, evaluationCache.getNumMisses());
+	}
+
+	@Test
+	public void testRepeatedPosition() {
+		final SearchBoard board = play(CASTLING, "e1g1");
+		final EvaluationCache evaluationCache = new EvaluationCache(StandardBoardEvaluator.get(), 1 << 10);
+		final int score = evaluationCache.evaluate(board, 0);
+
+		assertEquals(score, evaluationCache.evaluate(board, 0));
+		assertEquals(1, evaluationCache.getNumHits());
+	}
+
+	private static SearchBoard play(final String fen,
+									final String... moves) {
+		final SearchBoard board = new SearchBoard(FenUtils.createBoardFromFen(fen));
+		final int[] legalMoves = new int[SearchBoard.MAX_MOVES];
+
+		for (final String move : moves) {
+			final int numMoves = board.generateMoves(legalMoves);
+			int found = SearchBoard.NO_MOVE;
+
+			for (int i = 0; i < numMoves; i++) {
+				if(SearchBoard.moveToString(legalMoves[i]).equals(move)) {
+					found = legalMoves[i];
+				}
+			}
+
+			assertNotEquals(SearchBoard.NO_MOVE, found);
+			board.makeMove(found);
+		}
+
+		return board;
+	}
+}
@@ -0,0 +1,55 @@
+package de.wieland.Chess.engine.player.ai;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import de.wieland.Chess.engine.board.FenUtils;
+import de.wieland.Chess.engine.board.SearchBoard;
+
+/**
+ * Public class MovePickerTest.
+ *
+ * The picker has to hand out every legal move exactly once, with the
+ * captures that lose material after all quiet moves.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class MovePickerTest {
+	private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+	@Test
+	public void testLosingCapturesComeLast() {
+		final SearchBoard board = new SearchBoard(FenUtils.createBoardFromFen(KIWIPETE));
+		final int[] expected = new int[SearchBoard.MAX_MOVES];
+		final int numMoves = board.generateMoves(expected);
+		final int[] picked = new int[numMoves];
+		final MovePicker movePicker = MovePicker.allMoves(board);
+		int numPicked = 0;
+		int lastQuiet = -1;
+		int firstLosingCapture = numMoves;
+
+		for (int move = movePicker.nextMove(); move != SearchBoard.NO_MOVE; move = movePicker.nextMove()) {
+			if(!SearchBoard.isCapture(move) && !SearchBoard.isPromotion(move)) {
+				lastQuiet = numPicked;
+			} else if(SearchBoard.isCapture(move) && board.staticExchange(move) < 0) {
+				firstLosingCapture = Math.min(firstLosingCapture, numPicked);
+			}
+
+			picked[numPicked++] = move;
+		}
+
+		final int[] sortedExpected = Arrays.copyOf(expected, numMoves);
+		Arrays.sort(sortedExpected);
+		Arrays.sort(picked);
+
+		assertArrayEquals(sortedExpected, picked);
+		assertTrue(firstLosingCapture < numMoves);
+		assertTrue(lastQuiet < firstLosingCapture);
+	}
+}
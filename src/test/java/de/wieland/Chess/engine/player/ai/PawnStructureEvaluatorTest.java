@@ -0,0 +1,69 @@
+package de.wieland.Chess.engine.player.ai;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import de.wieland.Chess.engine.board.BitBoard;
+import de.wieland.Chess.engine.board.FenUtils;
+import de.wieland.Chess.engine.board.Zobrist;
+
+/**
+ * Public class PawnStructureEvaluatorTest.
+ *
+ * Scores positions that differ from a balanced one by a single pawn
+ * weakness, and compares the hashed scores with fresh ones.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class PawnStructureEvaluatorTest {
+	private static final String BALANCED = "4k3/pppppppp/8/8/8/8/PPPPPPPP/4K3 w - - 0 1";
+	private static final String DOUBLED = "4k3/pppppppp/8/8/8/4P3/PPPPP1PP/4K3 w - - 0 1";
+	private static final String ISOLATED = "4k3/pppppppp/8/8/8/8/P1PPPPPP/4K3 w - - 0 1";
+	private static final String WHITE_PASSED = "4k3/3P4/8/8/8/8/8/4K3 w - - 0 1";
+	private static final String BLACK_PASSED = "4k3/8/8/8/8/3p4/8/4K3 w - - 0 1";
+	private static final String BLOCKED = "4k3/8/4p3/3P4/8/8/8/4K3 w - - 0 1";
+
+	@Test
+	public void testBalanced() {
+		assertEquals(0, score(BALANCED));
+	}
+
+	@Test
+	public void testDoubledPawn() {
+		assertEquals(-10, score(DOUBLED));
+	}
+
+	@Test
+	public void testIsolatedPawn() {
+		assertEquals(-10, score(ISOLATED));
+	}
+
+	@Test
+	public void testPassedPawns() {
+		//isolated as well, so the bonus of the rank minus the isolated penalty
+		assertEquals(100 - 10, score(WHITE_PASSED));
+		assertEquals(-(60 - 10), score(BLACK_PASSED));
+		assertEquals(0, score(BLOCKED));
+	}
+
+	@Test
+	public void testHashedScores() {
+		//a single entry, so every position evicts the one before
+		final PawnStructureEvaluator evaluator = new PawnStructureEvaluator(1);
+		final String[] fens = {BALANCED, DOUBLED, DOUBLED, ISOLATED, WHITE_PASSED, WHITE_PASSED, BALANCED, BLOCKED};
+
+		for (final String fen : fens) {
+			final BitBoard bitBoard = FenUtils.createBoardFromFen(fen).getBitBoard();
+
+			assertEquals(PawnStructureEvaluator.calculateScore(bitBoard),
+						 evaluator.evaluate(bitBoard, Zobrist.calculatePawnKey(bitBoard)));
+		}
+	}
+
+	private static int score(final String fen) {
+		return PawnStructureEvaluator.calculateScore(FenUtils.createBoardFromFen(fen).getBitBoard());
+	}
+}
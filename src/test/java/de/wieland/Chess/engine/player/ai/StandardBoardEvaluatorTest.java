@@ -0,0 +1,52 @@
+package de.wieland.Chess.engine.player.ai;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import de.wieland.Chess.engine.board.FenUtils;
+import de.wieland.Chess.engine.board.SearchBoard;
+
+/**
+ * Public class StandardBoardEvaluatorTest.
+ *
+ * The lazy evaluation may return an estimate, but never one on another
+ * side of the window than the full evaluation. The positions include
+ * sides with very few moves, where the mobility term is largest.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class StandardBoardEvaluatorTest {
+	private static final String[] POSITIONS = {
+			"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+			"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+			"6k1/8/8/8/8/8/8/QQQQK3 w - - 0 1",
+			"6k1/8/8/8/8/8/8/QQQQK3 b - - 0 1",
+			"qqqqk3/8/8/8/8/8/8/7K w - - 0 1",
+			"k7/8/1QK5/8/8/8/8/7R b - - 0 1",
+			"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"
+	};
+	private static final int[] OFFSETS = {-1000, -300, -200, -150, -100, -50, -1, 0, 1, 50, 100, 150, 200, 300, 1000};
+	private static final int WINDOW = 50;
+
+	@Test
+	public void testLazyEvaluationKeepsTheSideOfTheWindow() {
+		final StandardBoardEvaluator boardEvaluator = new StandardBoardEvaluator();
+
+		for (final String fen : POSITIONS) {
+			final SearchBoard board = new SearchBoard(FenUtils.createBoardFromFen(fen));
+			final int score = boardEvaluator.evaluate(board, 0);
+
+			for (final int offset : OFFSETS) {
+				final int highest = score + offset;
+				final int lowest = highest + WINDOW;
+				final int lazyScore = boardEvaluator.evaluate(board, 0, highest, lowest);
+
+				assertEquals(fen + " " + offset, score <= highest, lazyScore <= highest);
+				assertEquals(fen + " " + offset, score >= lowest, lazyScore >= lowest);
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package de.wieland.Chess.engine.player.ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Public class TranspositionTableTest.
+ *
+ * Checks that every part of an entry survives the packing and that the
+ * two slots of a bucket are replaced as intended. Keys that only differ
+ * above the bucket mask share a bucket.
+ *
+ * @author Moritz Wieland
+ * @version 1.0
+ * @date 10.09.2021
+ */
+public class TranspositionTableTest {
+	private static final long KEY = 0x1234L;
+	private static final long SAME_BUCKET = 1L << 40;
+	private static final int MOVE = 0xABCDEF;
+	private static final int MATE_SCORE = 10000 * 100 * 6;
+
+	@Test
+	public void testPacking() {
+		final TranspositionTable table = new TranspositionTable(1);
+		final int[] scores = {0, 1, -1, 345, -345, MATE_SCORE, -MATE_SCORE};
+
+		for (final int score : scores) {
+			table.store(KEY, MOVE, score, 255, TranspositionTable.UPPER_BOUND);
+			final long entry = table.probe(KEY);
+
+			assertEquals(MOVE, TranspositionTable.getMove(entry));
+			assertEquals(score, TranspositionTable.getScore(entry));
+			assertEquals(255, TranspositionTable.getDepth(entry));
+			assertEquals(TranspositionTable.UPPER_BOUND, TranspositionTable.getBound(entry));
+		}
+	}
+
+	@Test
+	public void testScoresAreClamped() {
+		final TranspositionTable table = new TranspositionTable(1);
+
+		table.store(KEY, MOVE, Integer.MAX_VALUE, 1, TranspositionTable.EXACT);
+		final int highest = TranspositionTable.getScore(table.probe(KEY));
+		table.store(KEY, MOVE, Integer.MIN_VALUE, 1, TranspositionTable.EXACT);
+		final int lowest = TranspositionTable.getScore(table.probe(KEY));
+
+		assertTrue(highest > MATE_SCORE);
+		assertEquals(-highest, lowest);
+	}
+
+	@Test
+	public void testReplacement() {
+		final TranspositionTable table = new TranspositionTable(1);
+
+		table.store(KEY, MOVE, 1, 5, TranspositionTable.EXACT);
+		//shallower results go to the always-replace slot
+		table.store(KEY + SAME_BUCKET, MOVE, 2, 3, TranspositionTable.EXACT);
+		assertEquals(1, TranspositionTable.getScore(table.probe(KEY)));
+		assertEquals(2, TranspositionTable.getScore(table.probe(KEY + SAME_BUCKET)));
+
+		table.store(KEY + 2 * SAME_BUCKET, MOVE, 3, 2, TranspositionTable.EXACT);
+		assertEquals(1, TranspositionTable.getScore(table.probe(KEY)));
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(KEY + SAME_BUCKET));
+		assertEquals(3, TranspositionTable.getScore(table.probe(KEY + 2 * SAME_BUCKET)));
+
+		//deeper results take the depth-preferred slot
+		table.store(KEY + 3 * SAME_BUCKET, MOVE, 4, 6, TranspositionTable.EXACT);
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(KEY));
+		assertEquals(4, TranspositionTable.getScore(table.probe(KEY + 3 * SAME_BUCKET)));
+	}
+
+	@Test
+	public void testOlderSearchGivesWay() {
+		final TranspositionTable table = new TranspositionTable(1);
+
+		table.store(KEY, MOVE, 1, 8, TranspositionTable.EXACT);
+		table.newSearch();
+		table.store(KEY + SAME_BUCKET, MOVE, 2, 1, TranspositionTable.EXACT);
+
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(KEY));
+		assertEquals(2, TranspositionTable.getScore(table.probe(KEY + SAME_BUCKET)));
+	}
+
+	@Test
+	public void testSizeIsCapped() {
+		assertEquals(1 << 15, TranspositionTable.numBuckets(1));
+		assertTrue(TranspositionTable.numBuckets(Integer.MAX_VALUE) * 2L <= Integer.MAX_VALUE);
+	}
+}